@@ -0,0 +1,146 @@
+package bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Runs the benchmarks with the GC profiler, so every result carries throughput (ops/s) and bytes allocated per
+// operation, and optionally saves them as a baseline or compares them against one.
+//
+//   BenchmarkGate [--include <regex>] [--save-baseline <file>] [--baseline <file>] [--tolerance <fraction>] [--quick]
+//
+// With --baseline, the process exits with status 1 when any benchmark's throughput dropped, or its allocation
+// per operation grew, by more than the tolerance (default 0.10). --quick runs one short fork for smoke checks.
+public class BenchmarkGate {
+    private static final String THROUGHPUT = ".throughput";
+    private static final String ALLOCATION = ".alloc.bytesPerOp";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = "bench\\..*Benchmark.*";
+        Path saveBaseline = null;
+        Path baseline = null;
+        double tolerance = 0.10;
+        boolean quick = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--include":
+                    include = args[++i];
+                    break;
+                case "--save-baseline":
+                    saveBaseline = Path.of(args[++i]);
+                    break;
+                case "--baseline":
+                    baseline = Path.of(args[++i]);
+                    break;
+                case "--tolerance":
+                    tolerance = Double.parseDouble(args[++i]);
+                    break;
+                case "--quick":
+                    quick = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class);
+        if (quick) {
+            options.forks(1).warmupIterations(2).measurementIterations(3);
+        }
+        Map<String, Double> scores = collectScores(new Runner(options.build()).run());
+
+        if (saveBaseline != null) {
+            save(scores, saveBaseline);
+            System.out.println("Saved " + scores.size() + " scores to " + saveBaseline);
+        }
+        if (baseline != null) {
+            List<String> regressions = compare(load(baseline), scores, tolerance);
+            regressions.forEach(System.out::println);
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("No regressions beyond " + Math.round(tolerance * 100) + "% against " + baseline);
+        }
+    }
+
+    private static Map<String, Double> collectScores(Collection<RunResult> results) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult result : results) {
+            String name = name(result);
+            scores.put(name + THROUGHPUT, result.getPrimaryResult().getScore());
+            for (Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+                // The profiler has prefixed its result names with a middle dot in some JMH versions
+                if (secondary.getKey().endsWith("gc.alloc.rate.norm")) {
+                    scores.put(name + ALLOCATION, secondary.getValue().getScore());
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static String name(RunResult result) {
+        StringBuilder name = new StringBuilder(result.getParams().getBenchmark());
+        for (String key : result.getParams().getParamsKeys()) {
+            name.append(':').append(key).append('=').append(result.getParams().getParam(key));
+        }
+        return name.toString();
+    }
+
+    private static List<String> compare(Map<String, Double> baseline, Map<String, Double> scores, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> score : scores.entrySet()) {
+            Double expected = baseline.get(score.getKey());
+            if (expected == null) {
+                continue;
+            }
+            double actual = score.getValue();
+            boolean regressed = score.getKey().endsWith(THROUGHPUT)
+                    ? actual < expected * (1 - tolerance)
+                    // Allocation can legitimately be ~0, so allow a few bytes of noise on top of the tolerance
+                    : actual > expected * (1 + tolerance) + 8;
+            if (regressed) {
+                regressions.add(String.format("REGRESSION %s: baseline %.2f, now %.2f", score.getKey(), expected, actual));
+            }
+        }
+        return regressions;
+    }
+
+    private static void save(Map<String, Double> scores, Path file) throws IOException {
+        Properties properties = new Properties();
+        scores.forEach((key, value) -> properties.setProperty(key, Double.toString(value)));
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "JMH baseline: throughput in ops/s, allocation in bytes per operation");
+        }
+    }
+
+    private static Map<String, Double> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Double> scores = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            scores.put(key, Double.parseDouble(properties.getProperty(key)));
+        }
+        return scores;
+    }
+}
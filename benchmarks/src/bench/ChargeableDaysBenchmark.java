@@ -0,0 +1,52 @@
+package bench;
+
+import main.java.model.ChargeableDayCounter;
+import main.java.model.Tool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Rental lengths from a single day up to ten years.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChargeableDaysBenchmark {
+
+    @Param({"1", "7", "30", "365", "3650"})
+    public int rentalDays;
+
+    private Tool tool;
+    private LocalDate checkoutDate;
+
+    @Setup
+    public void setUp() {
+        tool = new Tool("CHNS", "Chainsaw", "Stihl", new BigDecimal("1.49"), true, false, true);
+        checkoutDate = LocalDate.of(2015, 7, 2);
+    }
+
+    @Benchmark
+    public int count() {
+        return ChargeableDayCounter.count(tool, checkoutDate, rentalDays);
+    }
+
+    // The per-day walk RentalAgreement used before the counter, kept as a reference point
+    @Benchmark
+    public int dayByDay() {
+        int chargeableDays = 0;
+        for (int i = 1; i <= rentalDays; i++) {
+            if (tool.isChargeable(checkoutDate.plusDays(i))) {
+                chargeableDays++;
+            }
+        }
+        return chargeableDays;
+    }
+}
@@ -0,0 +1,46 @@
+package bench;
+
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CheckoutBenchmark {
+
+    @Param({"CHNS", "LADW", "JAKR"})
+    public String toolCode;
+
+    @Param({"5", "365"})
+    public int rentalDays;
+
+    private RentalService rentalService;
+    private LocalDate checkoutDate;
+
+    @Setup
+    public void setUp() {
+        rentalService = new RentalService();
+        checkoutDate = LocalDate.of(2015, 7, 2);
+    }
+
+    @Benchmark
+    public RentalAgreement checkout() {
+        return rentalService.checkout(toolCode, rentalDays, 10, checkoutDate);
+    }
+
+    @Benchmark
+    public RentalAgreement checkoutLowerCaseCode() {
+        return rentalService.checkout("jakr", rentalDays, 10, checkoutDate);
+    }
+}
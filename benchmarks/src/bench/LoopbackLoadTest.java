@@ -0,0 +1,97 @@
+package bench;
+
+import main.java.http.CheckoutHttpServer;
+import main.java.metrics.HistogramSnapshot;
+import main.java.metrics.LatencyHistogram;
+import main.java.service.RentalService;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Starts CheckoutHttpServer on a loopback port and drives it with concurrent HTTP clients, then prints request
+// throughput and latency percentiles. With a batch size above 1 each request posts that many checkouts to
+// /checkout/batch.
+//
+//   LoopbackLoadTest [clients (64)] [seconds (10)] [batch size (1)]
+public class LoopbackLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        // Same socket setting Main starts the server with
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        CheckoutHttpServer server = new CheckoutHttpServer(new RentalService(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), Math.max(batchSize, 1));
+        server.start();
+        ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        try {
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + (batchSize > 1 ? "/checkout/batch" : "/checkout"));
+            String body = body(batchSize);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder failures = new LongAdder();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                workers.add(clientThreads.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 300) {
+                                failures.increment();
+                            }
+                        } catch (Exception e) {
+                            failures.increment();
+                        }
+                        latency.record(System.nanoTime() - start);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+            HistogramSnapshot snapshot = latency.snapshot();
+            System.out.printf("%d clients, %d s, batch size %d%n", clients, seconds, batchSize);
+            System.out.printf("requests: %d (%d failed), %.0f requests/s, %.0f checkouts/s%n", snapshot.getCount(), failures.sum(),
+                    snapshot.getCount() / (double) seconds, snapshot.getCount() * (double) batchSize / seconds);
+            System.out.printf("latency us: p50 %.1f, p99 %.1f, p99.9 %.1f, max %.1f%n",
+                    snapshot.getPercentileNanos(50) / 1e3, snapshot.getPercentileNanos(99) / 1e3,
+                    snapshot.getPercentileNanos(99.9) / 1e3, snapshot.getMaxNanos() / 1e3);
+        } finally {
+            clientThreads.shutdownNow();
+            server.stop();
+        }
+    }
+
+    private static String body(int batchSize) {
+        String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < Math.max(batchSize, 1); i++) {
+            body.append("{\"toolCode\":\"").append(toolCodes[i % toolCodes.length])
+                    .append("\",\"rentalDays\":").append(1 + i % 30)
+                    .append(",\"discountPercent\":").append(i % 50)
+                    .append(",\"checkoutDate\":\"2020-07-02\"}\n");
+        }
+        return body.toString();
+    }
+}
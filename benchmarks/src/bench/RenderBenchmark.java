@@ -0,0 +1,70 @@
+package bench;
+
+import main.java.model.RentalAgreement;
+import main.java.model.RentalAgreementRenderer;
+import main.java.service.RentalService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RenderBenchmark {
+    private RentalAgreement agreement;
+    private StringBuilder text;
+    private ByteBuffer buffer;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() {
+        agreement = new RentalService().checkout("JAKR", 1000, 15, LocalDate.of(2015, 7, 2));
+        text = new StringBuilder(512);
+        buffer = ByteBuffer.allocateDirect(1024);
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void printAgreement() {
+        agreement.printAgreement();
+    }
+
+    @Benchmark
+    public int renderText() throws IOException {
+        text.setLength(0);
+        RentalAgreementRenderer.renderText(agreement, text);
+        return text.length();
+    }
+
+    @Benchmark
+    public int renderTextToByteBuffer() {
+        buffer.clear();
+        RentalAgreementRenderer.renderText(agreement, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public int renderJson() throws IOException {
+        text.setLength(0);
+        RentalAgreementRenderer.renderJson(agreement, text);
+        return text.length();
+    }
+}
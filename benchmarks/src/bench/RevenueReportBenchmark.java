@@ -0,0 +1,80 @@
+package bench;
+
+import main.java.analytics.AgreementColumnStore;
+import main.java.analytics.GroupBy;
+import main.java.analytics.RevenueReport;
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Revenue by tool type per month over a year of a three-year history. The rows repeat a few thousand distinct
+// agreements, which is enough for the scan since it never looks at more than one row at a time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RevenueReportBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int rows;
+
+    private final LocalDate from = LocalDate.of(2020, 1, 1);
+    private final LocalDate to = LocalDate.of(2020, 12, 31);
+    private AgreementColumnStore store;
+    private List<RentalAgreement> agreements;
+
+    @Setup
+    public void setUp() {
+        String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR"};
+        RentalService rentalService = new RentalService();
+        Random random = new Random(1024);
+        RentalAgreement[] distinct = new RentalAgreement[4096];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] = rentalService.checkout(toolCodes[random.nextInt(toolCodes.length)], 1 + random.nextInt(30),
+                    random.nextInt(101), LocalDate.of(2019, 1, 1).plusDays(random.nextInt(3 * 365)));
+        }
+        store = new AgreementColumnStore(rows);
+        agreements = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            store.add(distinct[i % distinct.length]);
+            agreements.add(distinct[i % distinct.length]);
+        }
+    }
+
+    @Benchmark
+    public RevenueReport columnStore() {
+        return store.revenueByMonth(GroupBy.TOOL_TYPE, from, to);
+    }
+
+    // Summing the getters of each agreement, the way reports were built before the column store
+    @Benchmark
+    public Map<String, BigDecimal> summingAgreements() {
+        Map<String, BigDecimal> revenue = new HashMap<>();
+        for (RentalAgreement agreement : agreements) {
+            if (agreement.getCheckoutDate().isBefore(from) || agreement.getCheckoutDate().isAfter(to)) {
+                continue;
+            }
+            revenue.merge(agreement.getToolType() + " " + YearMonth.from(agreement.getCheckoutDate()),
+                    agreement.getFinalCharge(), BigDecimal::add);
+        }
+        return revenue;
+    }
+}
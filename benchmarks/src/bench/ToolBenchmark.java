@@ -0,0 +1,50 @@
+package bench;
+
+import main.java.model.Tool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Per-thread state: the benchmarks advance a cursor through the dates, which threads must not share.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ToolBenchmark {
+    private static final int DATES = 1024;
+
+    private Tool tool;
+    private LocalDate[] dates;
+    private LocalDate holiday;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        tool = new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false);
+        dates = new LocalDate[DATES];
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = LocalDate.of(2015, 1, 1).plusDays(i * 7L % 3650);
+        }
+        // Observed Independence Day 2015
+        holiday = LocalDate.of(2015, 7, 3);
+    }
+
+    @Benchmark
+    public boolean isChargeable() {
+        LocalDate date = dates[next];
+        next = (next + 1) & (DATES - 1);
+        return tool.isChargeable(date);
+    }
+
+    @Benchmark
+    public boolean isChargeableHoliday() {
+        return tool.isChargeable(holiday);
+    }
+}
@@ -1,8 +1,38 @@
+import main.java.calendar.HolidayRegions;
+import main.java.catalog.ToolCatalog;
+import main.java.http.CheckoutHttpServer;
+import main.java.service.RentalService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 public class Main {
-    public static void main(String[] args) {
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 10_000;
+    private static final String DEFAULT_CONFIG_DIRECTORY = "config";
+
+    // Arguments: [port] [max batch size] [config directory]
+    // Tools are read from <config directory>/tools.csv and holiday rules from <config directory>/holidays/<region>.holidays.
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxBatchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_BATCH_SIZE;
+        Path configDirectory = Path.of(args.length > 2 ? args[2] : DEFAULT_CONFIG_DIRECTORY);
+
+        // Send small responses without waiting for the client's delayed ACK (see CheckoutHttpServer); a value given
+        // on the command line wins. The JDK reads it once, when the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
 
+        HolidayRegions holidayRegions = HolidayRegions.load(configDirectory.resolve("holidays"));
+        ToolCatalog toolCatalog = ToolCatalog.load(configDirectory.resolve("tools.csv"), holidayRegions.getDefaultCalendar());
+        RentalService rentalService = new RentalService(toolCatalog, holidayRegions);
 
+        CheckoutHttpServer server = new CheckoutHttpServer(rentalService, new InetSocketAddress(port), maxBatchSize);
+        server.start();
+        System.out.println("Checkout server listening on port " + server.getAddress().getPort());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,475 @@
+package main.java.analytics;
+
+import main.java.model.Charges;
+import main.java.model.RentalAgreement;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Agreements for reporting, kept as one primitive array per field instead of as RentalAgreement objects, so a
+// report over tens of millions of agreements scans a few flat arrays and allocates almost nothing. Tools are
+// stored as ids into a dictionary keyed by tool code; a code keeps the type and brand it was first added with.
+//
+// Appends are serialized; queries work on the rows present when they start and run alongside later appends.
+// Reports are computed in parallel: the rows are cut into a few slices per worker of the pool, and each slice
+// is summed into its own totals, so what a query allocates depends on the pool's parallelism and not on the
+// number of rows. A slice keeps a dense array of group and month totals only while that matrix is small, and
+// otherwise only the cells it saw; totalDiscountCents keeps a single sum per slice.
+public class AgreementColumnStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_MIN_CHUNK_SIZE = 64 * 1024;
+    // Slices per pool worker, so a worker that finishes early can steal from a slower one
+    private static final int CHUNKS_PER_WORKER = 4;
+    // Totals kept per group and month: agreements, chargeable days, discount cents, final charge cents
+    private static final int TOTALS = 4;
+    // Up to this many group and month cells, each slice sums into a dense array of them (512 KB); above it, into a
+    // table of the cells it saw
+    private static final int MAX_DENSE_CELLS = 16 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    private final Map<String, Integer> toolIdsByCode = new HashMap<>();
+    private final List<String> toolCodes = new ArrayList<>();
+    private final List<String> toolTypes = new ArrayList<>();
+    private final List<String> toolBrands = new ArrayList<>();
+
+    private int size;
+    private int minCheckoutDay = Integer.MAX_VALUE;
+    private int maxCheckoutDay = Integer.MIN_VALUE;
+    private int[] toolIds;
+    private int[] checkoutDays;
+    private int[] chargeableDays;
+    private long[] discountCents;
+    private long[] finalChargeCents;
+
+    public AgreementColumnStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public AgreementColumnStore(int initialCapacity) {
+        this(initialCapacity, ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    // Slices are never smaller than minChunkSize rows, which keeps small stores from being split needlessly.
+    public AgreementColumnStore(int initialCapacity, ForkJoinPool pool, int minChunkSize) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be 1 or greater.");
+        }
+        if (minChunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be 1 or greater.");
+        }
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+        this.toolIds = new int[initialCapacity];
+        this.checkoutDays = new int[initialCapacity];
+        this.chargeableDays = new int[initialCapacity];
+        this.discountCents = new long[initialCapacity];
+        this.finalChargeCents = new long[initialCapacity];
+    }
+
+    // Throws ArithmeticException for an agreement whose charges do not fit in a long number of cents.
+    public synchronized void add(RentalAgreement agreement) {
+        Charges charges = agreement.getCharges();
+        long discount = charges.getDiscountAmountCents();
+        long finalCharge = charges.getFinalChargeCents();
+        int checkoutDay = Math.toIntExact(agreement.getCheckoutDate().toEpochDay());
+
+        if (size == toolIds.length) {
+            grow();
+        }
+        toolIds[size] = toolId(agreement);
+        checkoutDays[size] = checkoutDay;
+        chargeableDays[size] = agreement.getChargeableDays();
+        discountCents[size] = discount;
+        finalChargeCents[size] = finalCharge;
+        size++;
+        minCheckoutDay = Math.min(minCheckoutDay, checkoutDay);
+        maxCheckoutDay = Math.max(maxCheckoutDay, checkoutDay);
+    }
+
+    public void addAll(Iterable<RentalAgreement> agreements) {
+        for (RentalAgreement agreement : agreements) {
+            add(agreement);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Totals per group and month for agreements checked out from 'from' through 'to', both inclusive.
+    public RevenueReport revenueByMonth(GroupBy groupBy, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Report dates are required.");
+        }
+        Columns columns = snapshot(groupBy);
+        List<RevenueRow> rows = new ArrayList<>();
+        long firstDay = Math.max(from.toEpochDay(), columns.minCheckoutDay);
+        long lastDay = Math.min(to.toEpochDay(), columns.maxCheckoutDay);
+        if (columns.size == 0 || firstDay > lastDay) {
+            return new RevenueReport(groupBy, rows);
+        }
+
+        // Month of each day in the range as an offset from the first month, so the scan never builds a date
+        YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(firstDay));
+        int[] monthOfDay = new int[(int) (lastDay - firstDay + 1)];
+        int month = 0;
+        LocalDate date = LocalDate.ofEpochDay(firstDay);
+        for (int day = 0; day < monthOfDay.length; day++, date = date.plusDays(1)) {
+            if (day > 0 && date.getDayOfMonth() == 1) {
+                month++;
+            }
+            monthOfDay[day] = month;
+        }
+        int months = month + 1;
+
+        long cells = (long) columns.groupNames.size() * months;
+        CellTotals totals = pool.invoke(new ScanTask(columns, (int) firstDay, monthOfDay, months, cells <= MAX_DENSE_CELLS,
+                chunkSize(columns), 0, columns.size));
+
+        // Rows come out ordered by group name, then month
+        Integer[] groupOrder = new Integer[columns.groupNames.size()];
+        for (int group = 0; group < groupOrder.length; group++) {
+            groupOrder[group] = group;
+        }
+        Arrays.sort(groupOrder, (a, b) -> columns.groupNames.get(a).compareTo(columns.groupNames.get(b)));
+        long[] rankOfGroup = new long[groupOrder.length];
+        for (int rank = 0; rank < groupOrder.length; rank++) {
+            rankOfGroup[groupOrder[rank]] = rank;
+        }
+        long[] rankedCells = totals.cells();
+        for (int i = 0; i < rankedCells.length; i++) {
+            rankedCells[i] = rankOfGroup[(int) (rankedCells[i] / months)] * months + rankedCells[i] % months;
+        }
+        Arrays.sort(rankedCells);
+        YearMonth[] yearMonths = new YearMonth[months];
+        for (month = 0; month < months; month++) {
+            yearMonths[month] = firstMonth.plusMonths(month);
+        }
+        long[] row = new long[TOTALS];
+        for (long rankedCell : rankedCells) {
+            int group = groupOrder[(int) (rankedCell / months)];
+            month = (int) (rankedCell % months);
+            totals.get((long) group * months + month, row);
+            rows.add(new RevenueRow(columns.groupNames.get(group), yearMonths[month], row[0], row[1], row[2], row[3]));
+        }
+        return new RevenueReport(groupBy, rows);
+    }
+
+    // Scans only the checkout day and discount columns, into one total per slice.
+    public long totalDiscountCents(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Report dates are required.");
+        }
+        Columns columns = snapshot(null);
+        long firstDay = Math.max(from.toEpochDay(), columns.minCheckoutDay);
+        long lastDay = Math.min(to.toEpochDay(), columns.maxCheckoutDay);
+        if (columns.size == 0 || firstDay > lastDay) {
+            return 0;
+        }
+        return pool.invoke(new DiscountTask(columns, (int) firstDay, (int) lastDay, chunkSize(columns), 0, columns.size));
+    }
+
+    private int chunkSize(Columns columns) {
+        long chunks = (long) pool.getParallelism() * CHUNKS_PER_WORKER;
+        return (int) Math.max(minChunkSize, (columns.size + chunks - 1) / chunks);
+    }
+
+    private int toolId(RentalAgreement agreement) {
+        Integer id = toolIdsByCode.get(agreement.getToolCode());
+        if (id == null) {
+            id = toolCodes.size();
+            toolIdsByCode.put(agreement.getToolCode(), id);
+            toolCodes.add(agreement.getToolCode());
+            toolTypes.add(agreement.getToolType());
+            toolBrands.add(agreement.getToolBrand());
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, toolIds.length * 2L);
+        if (capacity == toolIds.length) {
+            throw new IllegalStateException("Agreement column store is full.");
+        }
+        toolIds = Arrays.copyOf(toolIds, capacity);
+        checkoutDays = Arrays.copyOf(checkoutDays, capacity);
+        chargeableDays = Arrays.copyOf(chargeableDays, capacity);
+        discountCents = Arrays.copyOf(discountCents, capacity);
+        finalChargeCents = Arrays.copyOf(finalChargeCents, capacity);
+    }
+
+    // Rows below size are never written again, and growing copies into new arrays, so the arrays captured here can
+    // be read without the lock while appends continue. A null groupBy skips building the groups.
+    private synchronized Columns snapshot(@Nullable GroupBy groupBy) {
+        List<String> keys = groupBy == null ? List.of()
+                : groupBy == GroupBy.TOOL_TYPE ? toolTypes : groupBy == GroupBy.TOOL_BRAND ? toolBrands : toolCodes;
+        Map<String, Integer> groupIds = new HashMap<>();
+        List<String> groupNames = new ArrayList<>();
+        int[] groupOfTool = new int[keys.size()];
+        for (int toolId = 0; toolId < groupOfTool.length; toolId++) {
+            String key = keys.get(toolId);
+            Integer group = groupIds.get(key);
+            if (group == null) {
+                group = groupNames.size();
+                groupIds.put(key, group);
+                groupNames.add(key);
+            }
+            groupOfTool[toolId] = group;
+        }
+        return new Columns(size, minCheckoutDay, maxCheckoutDay, toolIds, checkoutDays, chargeableDays, discountCents,
+                finalChargeCents, groupOfTool, groupNames);
+    }
+
+    private static final class Columns {
+        final int size;
+        final int minCheckoutDay;
+        final int maxCheckoutDay;
+        final int[] toolIds;
+        final int[] checkoutDays;
+        final int[] chargeableDays;
+        final long[] discountCents;
+        final long[] finalChargeCents;
+        final int[] groupOfTool;
+        final List<String> groupNames;
+
+        Columns(int size, int minCheckoutDay, int maxCheckoutDay, int[] toolIds, int[] checkoutDays, int[] chargeableDays,
+                long[] discountCents, long[] finalChargeCents, int[] groupOfTool, List<String> groupNames) {
+            this.size = size;
+            this.minCheckoutDay = minCheckoutDay;
+            this.maxCheckoutDay = maxCheckoutDay;
+            this.toolIds = toolIds;
+            this.checkoutDays = checkoutDays;
+            this.chargeableDays = chargeableDays;
+            this.discountCents = discountCents;
+            this.finalChargeCents = finalChargeCents;
+            this.groupOfTool = groupOfTool;
+            this.groupNames = groupNames;
+        }
+    }
+
+    @SuppressWarnings("serial") // tasks are never serialized
+    private static final class ScanTask extends RecursiveTask<CellTotals> {
+        private final Columns columns;
+        private final int firstDay;
+        private final int[] monthOfDay;
+        private final int months;
+        private final boolean dense;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        ScanTask(Columns columns, int firstDay, int[] monthOfDay, int months, boolean dense, int chunkSize, int from, int to) {
+            this.columns = columns;
+            this.firstDay = firstDay;
+            this.monthOfDay = monthOfDay;
+            this.months = months;
+            this.dense = dense;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CellTotals compute() {
+            if (to - from <= chunkSize) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(columns, firstDay, monthOfDay, months, dense, chunkSize, from, middle);
+            left.fork();
+            CellTotals totals = new ScanTask(columns, firstDay, monthOfDay, months, dense, chunkSize, middle, to).compute();
+            totals.addAll(left.join());
+            return totals;
+        }
+
+        private CellTotals scan() {
+            CellTotals totals = dense ? CellTotals.dense(columns.groupNames.size() * months)
+                    : CellTotals.sparse(Math.min(to - from, (long) columns.groupNames.size() * months));
+            int[] toolIds = columns.toolIds;
+            int[] checkoutDays = columns.checkoutDays;
+            int[] chargeableDays = columns.chargeableDays;
+            long[] discountCents = columns.discountCents;
+            long[] finalChargeCents = columns.finalChargeCents;
+            int[] groupOfTool = columns.groupOfTool;
+            int days = monthOfDay.length;
+            if (dense) {
+                // Indexes the array directly, which keeps the common case of few groups as fast as a plain matrix
+                long[] values = totals.table;
+                for (int row = from; row < to; row++) {
+                    int day = checkoutDays[row] - firstDay;
+                    if (day < 0 || day >= days) {
+                        continue;
+                    }
+                    int at = (groupOfTool[toolIds[row]] * months + monthOfDay[day]) * TOTALS;
+                    values[at]++;
+                    values[at + 1] += chargeableDays[row];
+                    values[at + 2] += discountCents[row];
+                    values[at + 3] += finalChargeCents[row];
+                }
+                return totals;
+            }
+            for (int row = from; row < to; row++) {
+                int day = checkoutDays[row] - firstDay;
+                if (day < 0 || day >= days) {
+                    continue;
+                }
+                long cell = (long) groupOfTool[toolIds[row]] * months + monthOfDay[day];
+                totals.add(cell, 1, chargeableDays[row], discountCents[row], finalChargeCents[row]);
+            }
+            return totals;
+        }
+    }
+
+    @SuppressWarnings("serial") // tasks are never serialized
+    private static final class DiscountTask extends RecursiveTask<Long> {
+        private final Columns columns;
+        private final int firstDay;
+        private final int lastDay;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        DiscountTask(Columns columns, int firstDay, int lastDay, int chunkSize, int from, int to) {
+            this.columns = columns;
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunkSize) {
+                int[] checkoutDays = columns.checkoutDays;
+                long[] discountCents = columns.discountCents;
+                long total = 0;
+                for (int row = from; row < to; row++) {
+                    if (checkoutDays[row] >= firstDay && checkoutDays[row] <= lastDay) {
+                        total += discountCents[row];
+                    }
+                }
+                return total;
+            }
+            int middle = (from + to) >>> 1;
+            DiscountTask left = new DiscountTask(columns, firstDay, lastDay, chunkSize, from, middle);
+            left.fork();
+            long total = new DiscountTask(columns, firstDay, lastDay, chunkSize, middle, to).compute();
+            return total + left.join();
+        }
+    }
+
+    // Totals per cell, a cell being group * months + month. When there are few cells they sit in one array indexed
+    // by cell; otherwise in an open-addressing table that holds only the cells a slice actually saw, so a report over
+    // thousands of groups and many months costs memory in proportion to the rows scanned, not to groups x months.
+    private static final class CellTotals {
+        private static final int MIN_SLOTS = 256;
+        private static final int MAX_PRESIZED_SLOTS = 64 * 1024;
+
+        private final boolean dense;
+        // Values per slot: TOTALS when dense; when sparse, cell + 1 (0 for an empty slot) followed by TOTALS, so a
+        // lookup touches one cache line
+        private final int stride;
+        private long[] table;
+        private int used;
+
+        private CellTotals(boolean dense, int slots) {
+            this.dense = dense;
+            this.stride = dense ? TOTALS : TOTALS + 1;
+            this.table = new long[slots * stride];
+        }
+
+        static CellTotals dense(int cells) {
+            return new CellTotals(true, cells);
+        }
+
+        // Sized for the expected number of cells up to a limit, and grown past it as cells turn up
+        static CellTotals sparse(long expectedCells) {
+            return new CellTotals(false, slotsFor(Math.min(expectedCells, MAX_PRESIZED_SLOTS / 2)));
+        }
+
+        void add(long cell, long agreements, long chargeableDays, long discountCents, long finalChargeCents) {
+            int at = dense ? (int) cell * TOTALS : slot(cell) * stride + 1;
+            table[at] += agreements;
+            table[at + 1] += chargeableDays;
+            table[at + 2] += discountCents;
+            table[at + 3] += finalChargeCents;
+        }
+
+        void addAll(CellTotals other) {
+            if (!dense && 2L * (used + other.used) > table.length / stride) {
+                resize(slotsFor(used + other.used));
+            }
+            int offset = other.dense ? 0 : 1;
+            for (int at = 0; at < other.table.length; at += other.stride) {
+                if (other.table[at + offset] > 0) {
+                    add(other.dense ? at / TOTALS : other.table[at] - 1, other.table[at + offset], other.table[at + offset + 1],
+                            other.table[at + offset + 2], other.table[at + offset + 3]);
+                }
+            }
+        }
+
+        // The cells with at least one agreement, in no particular order
+        long[] cells() {
+            long[] cells = new long[dense ? table.length / TOTALS : used];
+            int count = 0;
+            int offset = dense ? 0 : 1;
+            for (int at = 0; at < table.length; at += stride) {
+                if (table[at + offset] > 0) {
+                    cells[count++] = dense ? at / TOTALS : table[at] - 1;
+                }
+            }
+            return Arrays.copyOf(cells, count);
+        }
+
+        void get(long cell, long[] totals) {
+            System.arraycopy(table, dense ? (int) cell * TOTALS : slot(cell) * stride + 1, totals, 0, TOTALS);
+        }
+
+        // Finds the cell's slot, claiming an empty one for a new cell
+        private int slot(long cell) {
+            int mask = table.length / stride - 1;
+            int slot = (int) ((cell * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            long key = cell + 1;
+            while (table[slot * stride] != key) {
+                if (table[slot * stride] == 0) {
+                    if (2 * (used + 1) > mask + 1) {
+                        resize(2 * (mask + 1));
+                        return slot(cell);
+                    }
+                    table[slot * stride] = key;
+                    used++;
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void resize(int slots) {
+            long[] old = table;
+            table = new long[slots * stride];
+            used = 0;
+            for (int at = 0; at < old.length; at += stride) {
+                if (old[at] != 0) {
+                    System.arraycopy(old, at + 1, table, slot(old[at] - 1) * stride + 1, TOTALS);
+                }
+            }
+        }
+
+        // A power of two that keeps the table at most half full
+        private static int slotsFor(long cells) {
+            return (int) Math.max(MIN_SLOTS, Long.highestOneBit(Math.max(1, 2 * cells - 1)) << 1);
+        }
+    }
+}
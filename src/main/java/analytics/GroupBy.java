@@ -0,0 +1,8 @@
+package main.java.analytics;
+
+// Tool attribute that revenue is grouped by.
+public enum GroupBy {
+    TOOL_CODE,
+    TOOL_TYPE,
+    TOOL_BRAND
+}
@@ -0,0 +1,48 @@
+package main.java.analytics;
+
+import java.util.List;
+
+// Result of a group-by query: one row per group and month that had agreements, ordered by group, then month.
+public class RevenueReport {
+    private final GroupBy groupBy;
+    private final List<RevenueRow> rows;
+    private final long agreements;
+    private final long discountCents;
+    private final long finalChargeCents;
+
+    RevenueReport(GroupBy groupBy, List<RevenueRow> rows) {
+        this.groupBy = groupBy;
+        this.rows = List.copyOf(rows);
+        long agreements = 0;
+        long discountCents = 0;
+        long finalChargeCents = 0;
+        for (RevenueRow row : rows) {
+            agreements += row.getAgreements();
+            discountCents += row.getDiscountCents();
+            finalChargeCents += row.getFinalChargeCents();
+        }
+        this.agreements = agreements;
+        this.discountCents = discountCents;
+        this.finalChargeCents = finalChargeCents;
+    }
+
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    public List<RevenueRow> getRows() {
+        return rows;
+    }
+
+    public long getAgreements() {
+        return agreements;
+    }
+
+    public long getDiscountCents() {
+        return discountCents;
+    }
+
+    public long getFinalChargeCents() {
+        return finalChargeCents;
+    }
+}
@@ -0,0 +1,56 @@
+package main.java.analytics;
+
+import java.time.YearMonth;
+
+// Totals for one group in one month of checkout dates. Amounts are in cents.
+public class RevenueRow {
+    private final String group;
+    private final YearMonth month;
+    private final long agreements;
+    private final long chargeableDays;
+    private final long discountCents;
+    private final long finalChargeCents;
+
+    RevenueRow(String group, YearMonth month, long agreements, long chargeableDays, long discountCents, long finalChargeCents) {
+        this.group = group;
+        this.month = month;
+        this.agreements = agreements;
+        this.chargeableDays = chargeableDays;
+        this.discountCents = discountCents;
+        this.finalChargeCents = finalChargeCents;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public long getAgreements() {
+        return agreements;
+    }
+
+    public long getChargeableDays() {
+        return chargeableDays;
+    }
+
+    public long getPreDiscountCents() {
+        return finalChargeCents + discountCents;
+    }
+
+    public long getDiscountCents() {
+        return discountCents;
+    }
+
+    public long getFinalChargeCents() {
+        return finalChargeCents;
+    }
+
+    @Override
+    public String toString() {
+        return group + " " + month + ": " + agreements + " agreements, " + chargeableDays + " chargeable days, "
+                + getPreDiscountCents() + " - " + discountCents + " = " + finalChargeCents + " cents";
+    }
+}
@@ -0,0 +1,50 @@
+package main.java.calendar;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.MonthDay;
+
+// A holiday on the same month and day every year, optionally observed on the nearest weekday when it lands on a weekend.
+public class FixedDateHolidayRule implements HolidayRule {
+    private final String name;
+    private final int month;
+    private final int dayOfMonth;
+    private final boolean observedOnNearestWeekday;
+
+    public FixedDateHolidayRule(String name, int month, int dayOfMonth, boolean observedOnNearestWeekday) {
+        try {
+            MonthDay.of(month, dayOfMonth); // accepts Feb 29, which only occurs in leap years
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid holiday month and day.", e);
+        }
+        this.name = name;
+        this.month = month;
+        this.dayOfMonth = dayOfMonth;
+        this.observedOnNearestWeekday = observedOnNearestWeekday;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    @Nullable
+    public LocalDate getObservedDate(int year) {
+        if (!MonthDay.of(month, dayOfMonth).isValidYear(year)) {
+            return null;
+        }
+        LocalDate holiday = LocalDate.of(year, month, dayOfMonth);
+        if (!observedOnNearestWeekday) {
+            return holiday;
+        }
+        if (holiday.getDayOfWeek().getValue() == 6) { // Saturday
+            return holiday.minusDays(1);
+        } else if (holiday.getDayOfWeek().getValue() == 7) { // Sunday
+            return holiday.plusDays(1);
+        }
+        return holiday;
+    }
+}
@@ -0,0 +1,71 @@
+package main.java.calendar;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Compiles a set of holiday rules into per-year day masks. Each year is computed once and kept in a small
+// direct-mapped cache, so holiday checks on the hot path are a lookup with no allocation regardless of how
+// many rules there are. Safe to share between threads.
+public class HolidayCalendar {
+    private static final int DEFAULT_CACHE_SIZE = 256;
+    private static final HolidayCalendar DEFAULT = new HolidayCalendar(HolidayRules.unitedStates());
+
+    private final List<HolidayRule> rules;
+    private final AtomicReferenceArray<HolidayYear> years;
+    private final int slotMask;
+
+    public HolidayCalendar(List<HolidayRule> rules) {
+        this(rules, DEFAULT_CACHE_SIZE);
+    }
+
+    public HolidayCalendar(List<HolidayRule> rules, int cacheSize) {
+        this.rules = List.copyOf(rules);
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be 1 or greater.");
+        }
+        int slots = Integer.highestOneBit(cacheSize - 1) << 1;
+        this.years = new AtomicReferenceArray<>(Math.max(slots, 1));
+        this.slotMask = years.length() - 1;
+    }
+
+    public static HolidayCalendar getDefault() {
+        return DEFAULT;
+    }
+
+    public boolean isHoliday(@NotNull LocalDate date) {
+        return getYear(date.getYear()).isHoliday(date.getDayOfYear());
+    }
+
+    public HolidayYear getYear(int year) {
+        // A year only ever evicts whichever year shares its slot, which bounds the cache without any locking
+        int slot = year & slotMask;
+        HolidayYear holidays = years.get(slot);
+        if (holidays == null || holidays.getYear() != year) {
+            holidays = new HolidayYear(year, computeHolidays(year));
+            years.set(slot, holidays);
+        }
+        return holidays;
+    }
+
+    public List<HolidayRule> getRules() {
+        return rules;
+    }
+
+    private List<LocalDate> computeHolidays(int year) {
+        // Observed dates can shift across New Year, so the neighbouring years' rules are evaluated as well
+        List<LocalDate> holidays = new ArrayList<>(rules.size() * 3);
+        for (HolidayRule rule : rules) {
+            for (int ruleYear = year - 1; ruleYear <= year + 1; ruleYear++) {
+                LocalDate observed = rule.getObservedDate(ruleYear);
+                if (observed != null && observed.getYear() == year) {
+                    holidays.add(observed);
+                }
+            }
+        }
+        return holidays;
+    }
+}
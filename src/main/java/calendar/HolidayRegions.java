@@ -0,0 +1,59 @@
+package main.java.calendar;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Holiday calendars by region code. Region codes are matched case-insensitively.
+public class HolidayRegions {
+    public static final String DEFAULT_REGION = "US";
+    public static final String RULE_FILE_SUFFIX = ".holidays";
+
+    private static final HolidayRegions DEFAULT = new HolidayRegions(Map.of(DEFAULT_REGION, HolidayCalendar.getDefault()));
+
+    private final Map<String, HolidayCalendar> calendars = new HashMap<>();
+
+    public HolidayRegions(Map<String, HolidayCalendar> calendars) {
+        calendars.forEach((region, calendar) -> this.calendars.put(normalize(region), calendar));
+        this.calendars.putIfAbsent(DEFAULT_REGION, HolidayCalendar.getDefault());
+    }
+
+    public static HolidayRegions getDefault() {
+        return DEFAULT;
+    }
+
+    // Loads every <region>.holidays file in the directory; a file named US.holidays replaces the built-in US rules.
+    public static HolidayRegions load(Path directory) throws IOException {
+        Map<String, HolidayCalendar> calendars = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + RULE_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String region = fileName.substring(0, fileName.length() - RULE_FILE_SUFFIX.length());
+                List<HolidayRule> rules = HolidayRules.load(file);
+                calendars.put(region, new HolidayCalendar(rules));
+            }
+        }
+        return new HolidayRegions(calendars);
+    }
+
+    public HolidayCalendar getCalendar(String region) {
+        HolidayCalendar calendar = region == null ? null : calendars.get(normalize(region));
+        if (calendar == null) {
+            throw new IllegalArgumentException("Invalid region.");
+        }
+        return calendar;
+    }
+
+    public HolidayCalendar getDefaultCalendar() {
+        return calendars.get(DEFAULT_REGION);
+    }
+
+    private static String normalize(String region) {
+        return region.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package main.java.calendar;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+
+public interface HolidayRule {
+
+    String getName();
+
+    // The date the holiday is observed for the given year; observance may fall in a neighbouring year. Null when the
+    // holiday does not occur that year, e.g. a Feb 29 holiday outside leap years.
+    @Nullable
+    LocalDate getObservedDate(int year);
+}
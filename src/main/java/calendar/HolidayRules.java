@@ -0,0 +1,82 @@
+package main.java.calendar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Parses holiday rule files. One rule per line, blank lines and lines starting with # are ignored:
+//
+//   Independence Day: fixed 7 4 observed
+//   Labor Day: nth 1 MONDAY 9
+//   Memorial Day: nth -1 MONDAY 5
+public final class HolidayRules {
+
+    private HolidayRules() {
+    }
+
+    public static List<HolidayRule> unitedStates() {
+        return List.of(
+                new FixedDateHolidayRule("Independence Day", 7, 4, true),
+                new NthWeekdayHolidayRule("Labor Day", 9, DayOfWeek.MONDAY, 1)
+        );
+    }
+
+    public static List<HolidayRule> load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(path + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static List<HolidayRule> parse(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<HolidayRule> rules = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parseRule(line));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid holiday rule on line " + lineNumber + ": " + line, e);
+            }
+        }
+        return rules;
+    }
+
+    private static HolidayRule parseRule(String line) {
+        int separator = line.indexOf(':');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Missing holiday name.");
+        }
+        String name = line.substring(0, separator).trim();
+        String[] parts = line.substring(separator + 1).trim().split("\\s+");
+        switch (parts[0].toLowerCase(Locale.ROOT)) {
+            case "fixed":
+                if (parts.length != 3 && !(parts.length == 4 && parts[3].equalsIgnoreCase("observed"))) {
+                    throw new IllegalArgumentException("Expected: fixed <month> <day> [observed]");
+                }
+                return new FixedDateHolidayRule(name, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), parts.length == 4);
+            case "nth":
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Expected: nth <ordinal> <weekday> <month>");
+                }
+                return new NthWeekdayHolidayRule(name, Integer.parseInt(parts[3]),
+                        DayOfWeek.valueOf(parts[2].toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1]));
+            default:
+                throw new IllegalArgumentException("Unknown rule type " + parts[0]);
+        }
+    }
+}
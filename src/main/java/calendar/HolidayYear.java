@@ -0,0 +1,59 @@
+package main.java.calendar;
+
+import java.time.LocalDate;
+
+// Observed holidays of a single year as day-of-year bitsets, split by whether the holiday lands on a weekday or weekend.
+public final class HolidayYear {
+    private final int year;
+    private final long[] weekdayHolidays = new long[6];
+    private final long[] weekendHolidays = new long[6];
+
+    HolidayYear(int year, Iterable<LocalDate> holidays) {
+        this.year = year;
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() != year) {
+                continue;
+            }
+            int dayOfYear = holiday.getDayOfYear();
+            long[] mask = holiday.getDayOfWeek().getValue() < 6 ? weekdayHolidays : weekendHolidays;
+            mask[dayOfYear >>> 6] |= 1L << dayOfYear;
+        }
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isHoliday(int dayOfYear) {
+        long bit = 1L << dayOfYear;
+        int word = dayOfYear >>> 6;
+        return ((weekdayHolidays[word] | weekendHolidays[word]) & bit) != 0;
+    }
+
+    // Both bounds are inclusive days of this year.
+    public int countWeekdayHolidays(int fromDayOfYear, int toDayOfYear) {
+        return count(weekdayHolidays, fromDayOfYear, toDayOfYear);
+    }
+
+    public int countWeekendHolidays(int fromDayOfYear, int toDayOfYear) {
+        return count(weekendHolidays, fromDayOfYear, toDayOfYear);
+    }
+
+    private static int count(long[] mask, int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        int fromWord = from >>> 6;
+        int toWord = to >>> 6;
+        long fromMask = -1L << from;
+        long toMask = -1L >>> (63 - (to & 63));
+        if (fromWord == toWord) {
+            return Long.bitCount(mask[fromWord] & fromMask & toMask);
+        }
+        int count = Long.bitCount(mask[fromWord] & fromMask);
+        for (int word = fromWord + 1; word < toWord; word++) {
+            count += Long.bitCount(mask[word]);
+        }
+        return count + Long.bitCount(mask[toWord] & toMask);
+    }
+}
@@ -0,0 +1,42 @@
+package main.java.calendar;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// A holiday on the nth given weekday of a month, e.g. the first Monday in September; a negative n counts from the end.
+// A fifth weekday that the month does not have in a given year means no holiday that year.
+public class NthWeekdayHolidayRule implements HolidayRule {
+    private final String name;
+    private final int month;
+    private final DayOfWeek dayOfWeek;
+    private final int ordinal;
+
+    public NthWeekdayHolidayRule(String name, int month, DayOfWeek dayOfWeek, int ordinal) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12.");
+        }
+        if (ordinal == 0 || ordinal < -5 || ordinal > 5) {
+            throw new IllegalArgumentException("Weekday ordinal must be between 1 and 5 or -1 and -5.");
+        }
+        this.name = name;
+        this.month = month;
+        this.dayOfWeek = dayOfWeek;
+        this.ordinal = ordinal;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    @Nullable
+    public LocalDate getObservedDate(int year) {
+        // dayOfWeekInMonth carries on into the next or previous month when the weekday occurs fewer than 5 times
+        LocalDate date = LocalDate.of(year, month, 1).with(TemporalAdjusters.dayOfWeekInMonth(ordinal, dayOfWeek));
+        return date.getMonthValue() == month ? date : null;
+    }
+}
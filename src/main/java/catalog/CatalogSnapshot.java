@@ -0,0 +1,67 @@
+package main.java.catalog;
+
+import main.java.model.Tool;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable, case-insensitive open-addressing index over a set of tools. Lookups hash the requested code
+// character by character with case folding, so they never allocate a normalized copy of the key.
+public final class CatalogSnapshot {
+    private final Tool[] slots;
+    private final int mask;
+    private final List<Tool> tools;
+
+    CatalogSnapshot(Collection<Tool> tools) {
+        int capacity = Integer.highestOneBit(Math.max(tools.size(), 1) * 2 - 1) << 1;
+        this.slots = new Tool[Math.max(capacity, 2)];
+        this.mask = slots.length - 1;
+        for (Tool tool : tools) {
+            int slot = hash(tool.getCode()) & mask;
+            while (slots[slot] != null) {
+                if (slots[slot].getCode().equalsIgnoreCase(tool.getCode())) {
+                    throw new IllegalArgumentException("Duplicate tool code " + tool.getCode() + ".");
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = tool;
+        }
+        this.tools = Collections.unmodifiableList(new ArrayList<>(tools));
+    }
+
+    @Nullable
+    public Tool find(String toolCode) {
+        if (toolCode == null) {
+            return null;
+        }
+        int slot = hash(toolCode) & mask;
+        Tool tool;
+        while ((tool = slots[slot]) != null) {
+            if (tool.getCode().equalsIgnoreCase(toolCode)) {
+                return tool;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public List<Tool> getTools() {
+        return tools;
+    }
+
+    public int size() {
+        return tools.size();
+    }
+
+    // Folds case the same way String.equalsIgnoreCase compares characters, so equal codes always hash alike
+    private static int hash(String code) {
+        int hash = 0;
+        for (int i = 0; i < code.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(code.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,99 @@
+package main.java.catalog;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.model.Tool;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Tool catalog that can be reloaded while checkouts are running. Every reload builds a complete new snapshot
+// and swaps it in with a single volatile write, so readers never block and never see a half-updated catalog.
+public class ToolCatalog {
+    private final HolidayCalendar holidayCalendar;
+    private volatile CatalogSnapshot snapshot;
+
+    public ToolCatalog(Collection<Tool> tools) {
+        this(tools, HolidayCalendar.getDefault());
+    }
+
+    public ToolCatalog(Collection<Tool> tools, HolidayCalendar holidayCalendar) {
+        this.holidayCalendar = holidayCalendar;
+        this.snapshot = new CatalogSnapshot(tools);
+    }
+
+    public static ToolCatalog load(Path path, HolidayCalendar holidayCalendar) throws IOException {
+        return new ToolCatalog(readTools(path, holidayCalendar), holidayCalendar);
+    }
+
+    @Nullable
+    public Tool find(String toolCode) {
+        return snapshot.find(toolCode);
+    }
+
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void replace(Collection<Tool> tools) {
+        snapshot = new CatalogSnapshot(tools);
+    }
+
+    // On a parse error the current snapshot stays in place.
+    public void reload(Path path) throws IOException {
+        replace(readTools(path, holidayCalendar));
+    }
+
+    // Reads tools from a CSV file with the columns
+    // code,type,brand,dailyCharge,chargeWeekday,chargeWeekend,chargeHoliday
+    // Blank lines, lines starting with # and a header line starting with "code" are skipped.
+    public static List<Tool> readTools(Path path, HolidayCalendar holidayCalendar) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return readTools(reader, holidayCalendar);
+        }
+    }
+
+    public static List<Tool> readTools(Reader reader, HolidayCalendar holidayCalendar) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        List<Tool> tools = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || (lineNumber == 1 && line.regionMatches(true, 0, "code,", 0, 5))) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length != 7) {
+                throw new IllegalArgumentException("Invalid tool on line " + lineNumber + ": expected 7 fields.");
+            }
+            try {
+                tools.add(new Tool(fields[0].trim(), fields[1].trim(), fields[2].trim(), new BigDecimal(fields[3].trim()),
+                        parseFlag(fields[4]), parseFlag(fields[5]), parseFlag(fields[6]), holidayCalendar));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid daily charge on line " + lineNumber + ".", e);
+            }
+        }
+        return tools;
+    }
+
+    private static boolean parseFlag(String field) {
+        String value = field.trim();
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("yes")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false") || value.equalsIgnoreCase("no")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid charge flag " + value + ".");
+    }
+}
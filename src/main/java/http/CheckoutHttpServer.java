@@ -0,0 +1,306 @@
+package main.java.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.java.calendar.HolidayRegions;
+import main.java.json.FlatJson;
+import main.java.model.RentalAgreement;
+import main.java.model.RentalAgreementRenderer;
+import main.java.model.Tool;
+import main.java.service.BatchCheckoutService;
+import main.java.service.CheckoutRequest;
+import main.java.service.CheckoutResult;
+import main.java.service.RentalService;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// JSON over HTTP front end for RentalService:
+//
+//   POST /checkout          {"toolCode":"JAKR","rentalDays":5,"discountPercent":10,"checkoutDate":"2015-09-03","region":"US"}
+//   POST /checkout/batch    one such object per line (NDJSON), answered with one result per line in the same order
+//   GET  /tools/{code}
+//   GET  /agreements/{id}   one of the most recent agreements returned by a checkout on this server
+//
+// Each request runs on its own virtual thread when the JDK provides them, otherwise on a cached thread pool.
+// Responses are written by hand with FlatJson and RentalAgreementRenderer, without reflection. The JDK server
+// sends headers and body in separate writes, so small responses wait out the client's delayed ACK unless the
+// JVM is started with -Dsun.net.httpserver.nodelay=true, as Main does.
+public class CheckoutHttpServer {
+    public static final int DEFAULT_RETAINED_AGREEMENTS = 100_000;
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String NDJSON = "application/x-ndjson; charset=utf-8";
+
+    private final RentalService rentalService;
+    private final BatchCheckoutService batchCheckoutService;
+    private final int maxBatchSize;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong nextAgreementId = new AtomicLong();
+    // Agreement n is kept in slot n % length until agreement n + length replaces it, so memory stays bounded
+    // however long the server runs and evicted ids answer 404.
+    private final AtomicReferenceArray<StoredAgreement> agreements;
+
+    public CheckoutHttpServer(RentalService rentalService, InetSocketAddress address, int maxBatchSize) throws IOException {
+        this(rentalService, address, maxBatchSize, DEFAULT_RETAINED_AGREEMENTS);
+    }
+
+    public CheckoutHttpServer(RentalService rentalService, InetSocketAddress address, int maxBatchSize,
+                              int retainedAgreements) throws IOException {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be 1 or greater.");
+        }
+        if (retainedAgreements < 1) {
+            throw new IllegalArgumentException("Retained agreement count must be 1 or greater.");
+        }
+        this.agreements = new AtomicReferenceArray<>(retainedAgreements);
+        this.rentalService = rentalService;
+        this.batchCheckoutService = new BatchCheckoutService(rentalService);
+        this.maxBatchSize = maxBatchSize;
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/checkout", this::handleCheckout);
+        server.createContext("/checkout/batch", this::handleBatchCheckout);
+        server.createContext("/tools/", this::handleTool);
+        server.createContext("/agreements/", this::handleAgreement);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // Virtual threads arrived in JDK 21; the project still targets 17, so they are looked up reflectively
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void handleCheckout(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().equals("/checkout")) {
+                sendError(exchange, 404, "Not found.");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            RentalAgreement agreement;
+            try {
+                CheckoutRequest request = parseRequest(body);
+                agreement = rentalService.checkout(request.getToolCode(), request.getRentalDays(),
+                        request.getDiscountPercent(), request.getCheckoutDate(), request.getRegion());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            StringBuilder json = new StringBuilder(384);
+            appendAgreement(json, store(agreement), agreement);
+            send(exchange, 201, JSON, json);
+        }
+    }
+
+    private void handleBatchCheckout(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            List<CheckoutRequest> requests = new ArrayList<>();
+            List<String> parseErrors = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (requests.size() == maxBatchSize) {
+                    sendError(exchange, 413, "Batch exceeds " + maxBatchSize + " requests.");
+                    return;
+                }
+                try {
+                    requests.add(parseRequest(line));
+                    parseErrors.add(null);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    requests.add(null);
+                    parseErrors.add(e.getMessage());
+                }
+            }
+
+            List<CheckoutResult> results = batchCheckoutService.checkout(requests);
+            StringBuilder ndjson = new StringBuilder(results.size() * 384);
+            for (int i = 0; i < results.size(); i++) {
+                CheckoutResult result = results.get(i);
+                if (result.isSuccessful()) {
+                    appendAgreement(ndjson, store(result.getAgreement()), result.getAgreement());
+                } else {
+                    appendError(ndjson, parseErrors.get(i) != null ? parseErrors.get(i) : result.getErrorMessage());
+                }
+                ndjson.append('\n');
+            }
+            send(exchange, 200, NDJSON, ndjson);
+        }
+    }
+
+    private void handleTool(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            String code = exchange.getRequestURI().getPath().substring("/tools/".length());
+            Tool tool = rentalService.getToolCatalog().find(code);
+            if (tool == null) {
+                sendError(exchange, 404, "Invalid tool code.");
+                return;
+            }
+            StringBuilder json = new StringBuilder(192);
+            json.append("{\"code\":");
+            FlatJson.appendString(json, tool.getCode());
+            json.append(",\"type\":");
+            FlatJson.appendString(json, tool.getType());
+            json.append(",\"brand\":");
+            FlatJson.appendString(json, tool.getBrand());
+            json.append(",\"dailyCharge\":").append(tool.getDailyCharge().toPlainString())
+                    .append(",\"chargeWeekday\":").append(tool.isChargeWeekday())
+                    .append(",\"chargeWeekend\":").append(tool.isChargeWeekend())
+                    .append(",\"chargeHoliday\":").append(tool.isChargeHoliday())
+                    .append('}');
+            send(exchange, 200, JSON, json);
+        }
+    }
+
+    private void handleAgreement(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Method not allowed.");
+                return;
+            }
+            RentalAgreement agreement = null;
+            long id = -1;
+            try {
+                id = Long.parseLong(exchange.getRequestURI().getPath().substring("/agreements/".length()));
+                agreement = find(id);
+            } catch (NumberFormatException e) {
+                // answered as not found below
+            }
+            if (agreement == null) {
+                sendError(exchange, 404, "Unknown agreement.");
+                return;
+            }
+            StringBuilder json = new StringBuilder(384);
+            appendAgreement(json, id, agreement);
+            send(exchange, 200, JSON, json);
+        }
+    }
+
+    private long store(RentalAgreement agreement) {
+        long id = nextAgreementId.incrementAndGet();
+        agreements.set(slot(id), new StoredAgreement(id, agreement));
+        return id;
+    }
+
+    @Nullable
+    private RentalAgreement find(long id) {
+        if (id < 1) {
+            return null;
+        }
+        StoredAgreement stored = agreements.get(slot(id));
+        return stored != null && stored.id == id ? stored.agreement : null;
+    }
+
+    private int slot(long id) {
+        return (int) (id % agreements.length());
+    }
+
+    private static CheckoutRequest parseRequest(String json) {
+        Map<String, String> members = FlatJson.parseObject(json);
+        String region = members.get("region");
+        return new CheckoutRequest(members.get("toolCode"), parseInt(members, "rentalDays"), parseInt(members, "discountPercent"),
+                LocalDate.parse(required(members, "checkoutDate")), region != null ? region : HolidayRegions.DEFAULT_REGION);
+    }
+
+    private static int parseInt(Map<String, String> members, String name) {
+        try {
+            return Integer.parseInt(required(members, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ".");
+        }
+    }
+
+    private static String required(Map<String, String> members, String name) {
+        String value = members.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name + ".");
+        }
+        return value;
+    }
+
+    private static void appendAgreement(StringBuilder json, long id, RentalAgreement agreement) throws IOException {
+        json.append("{\"id\":").append(id).append(',');
+        RentalAgreementRenderer.renderJsonFields(agreement, json);
+        json.append('}');
+    }
+
+    private static void appendError(StringBuilder json, String message) throws IOException {
+        json.append("{\"error\":");
+        FlatJson.appendString(json, message);
+        json.append('}');
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(64);
+        appendError(json, message);
+        send(exchange, status, JSON, json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, CharSequence body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class StoredAgreement {
+        final long id;
+        final RentalAgreement agreement;
+
+        StoredAgreement(long id, RentalAgreement agreement) {
+            this.id = id;
+            this.agreement = agreement;
+        }
+    }
+}
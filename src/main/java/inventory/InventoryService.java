@@ -0,0 +1,59 @@
+package main.java.inventory;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tracks how many units of each tool are out per day. A rental keeps its unit from the checkout date through
+// the due date. Each tool has its own counters, so reservations for different tools never contend.
+public class InventoryService {
+    private final ConcurrentHashMap<String, ToolInventory> inventories = new ConcurrentHashMap<>();
+
+    public void setUnits(String toolCode, int units) {
+        if (units < 0) {
+            throw new IllegalArgumentException("Unit count must be 0 or greater.");
+        }
+        String key = normalize(toolCode);
+        inventories.compute(key, (k, inventory) -> {
+            if (inventory == null) {
+                return new ToolInventory(k, units);
+            }
+            inventory.setUnits(units);
+            return inventory;
+        });
+    }
+
+    @Nullable
+    public ToolInventory getInventory(String toolCode) {
+        return toolCode == null ? null : inventories.get(normalize(toolCode));
+    }
+
+    // Null when no unit is free for the whole rental.
+    @Nullable
+    public Reservation reserve(String toolCode, LocalDate checkoutDate, int rentalDays) {
+        return inventory(toolCode).reserve(checkoutDate, checkoutDate.plusDays(rentalDays));
+    }
+
+    // Frees the reservation's unit the first time it is released; later calls return false and change nothing.
+    public boolean release(Reservation reservation) {
+        return inventory(reservation.getToolCode()).release(reservation);
+    }
+
+    public int available(String toolCode, LocalDate checkoutDate, int rentalDays) {
+        return inventory(toolCode).available(checkoutDate, checkoutDate.plusDays(rentalDays));
+    }
+
+    private ToolInventory inventory(String toolCode) {
+        ToolInventory inventory = getInventory(toolCode);
+        if (inventory == null) {
+            throw new IllegalArgumentException("No inventory for tool code.");
+        }
+        return inventory;
+    }
+
+    private static String normalize(String toolCode) {
+        return toolCode.toUpperCase(Locale.ROOT);
+    }
+}
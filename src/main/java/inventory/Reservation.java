@@ -0,0 +1,29 @@
+package main.java.inventory;
+
+import java.time.LocalDate;
+
+// One unit of a tool held from the first through the last day, inclusive. Returned by InventoryService.reserve and
+// passed back to release, which frees the unit only the first time.
+public class Reservation {
+    private final String toolCode;
+    private final LocalDate firstDay;
+    private final LocalDate lastDay;
+
+    Reservation(String toolCode, LocalDate firstDay, LocalDate lastDay) {
+        this.toolCode = toolCode;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+    }
+
+    public String getToolCode() {
+        return toolCode;
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public LocalDate getLastDay() {
+        return lastDay;
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.inventory;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Units of one tool and how many of them are out on each day. Days are counted in lazily created blocks of
+// per-day counters. Reservations, releases and availability checks hold this tool's lock, and a reservation
+// checks every day of its range before claiming any of them, so other threads never see part of a reservation
+// and a unit is never booked twice. Only reservations this inventory handed out and has not yet released can be
+// released, so releasing twice cannot free a unit someone else holds. Different tools never contend.
+public class ToolInventory {
+    private static final int DAYS_PER_BLOCK = 512;
+
+    private final String toolCode;
+    private volatile int units;
+    private final Map<Long, int[]> blocks = new HashMap<>();
+    private final Set<Reservation> reservations = new HashSet<>();
+
+    ToolInventory(String toolCode, int units) {
+        this.toolCode = toolCode;
+        this.units = units;
+    }
+
+    public String getToolCode() {
+        return toolCode;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    // Lowering the unit count does not cancel reservations already made; it only limits new ones.
+    void setUnits(int units) {
+        this.units = units;
+    }
+
+    // Reserves one unit on every day from the first through the last day, inclusive, or none of them. Null when
+    // some day has no unit free.
+    @Nullable
+    synchronized Reservation reserve(LocalDate firstDay, LocalDate lastDay) {
+        long first = firstDay.toEpochDay();
+        long last = lastDay.toEpochDay();
+        if (reservedPeak(first, last) >= units) {
+            return null;
+        }
+        for (long day = first; day <= last; day++) {
+            block(day)[index(day)]++;
+        }
+        Reservation reservation = new Reservation(toolCode, firstDay, lastDay);
+        reservations.add(reservation);
+        return reservation;
+    }
+
+    // Returns false, and changes nothing, for a reservation that is already released or was not made here.
+    synchronized boolean release(Reservation reservation) {
+        if (!reservations.remove(reservation)) {
+            return false;
+        }
+        long last = reservation.getLastDay().toEpochDay();
+        for (long day = reservation.getFirstDay().toEpochDay(); day <= last; day++) {
+            block(day)[index(day)]--;
+        }
+        return true;
+    }
+
+    // Units free on every day of the range.
+    synchronized int available(LocalDate firstDay, LocalDate lastDay) {
+        return Math.max(0, units - reservedPeak(firstDay.toEpochDay(), lastDay.toEpochDay()));
+    }
+
+    // The most units reserved on any one day of the range
+    private int reservedPeak(long first, long last) {
+        int peak = 0;
+        for (long day = first; day <= last; day++) {
+            int[] block = blocks.get(Math.floorDiv(day, DAYS_PER_BLOCK));
+            if (block != null) {
+                peak = Math.max(peak, block[index(day)]);
+            }
+        }
+        return peak;
+    }
+
+    private int[] block(long epochDay) {
+        return blocks.computeIfAbsent(Math.floorDiv(epochDay, DAYS_PER_BLOCK), k -> new int[DAYS_PER_BLOCK]);
+    }
+
+    private static int index(long epochDay) {
+        return Math.floorMod(epochDay, DAYS_PER_BLOCK);
+    }
+}
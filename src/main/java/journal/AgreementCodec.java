@@ -0,0 +1,91 @@
+package main.java.journal;
+
+import main.java.model.RentalAgreement;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// Binary form of an agreement. Only the inputs are stored; the charges are recomputed on decode from the daily
+// charge, chargeable days and discount, which gives the same amounts the agreement had when it was written.
+final class AgreementCodec {
+    static final byte VERSION = 1;
+
+    private AgreementCodec() {
+    }
+
+    static void encode(RentalAgreement agreement, ByteBuffer out) {
+        out.put(VERSION);
+        putString(out, agreement.getToolCode());
+        putString(out, agreement.getToolType());
+        putString(out, agreement.getToolBrand());
+        out.putInt(agreement.getRentalDays());
+        out.putLong(agreement.getCheckoutDate().toEpochDay());
+        out.putInt(agreement.getChargeableDays());
+        out.put((byte) agreement.getDiscountPercent());
+        BigDecimal dailyCharge = agreement.getDailyRentalCharge();
+        out.putInt(dailyCharge.scale());
+        BigInteger unscaled = dailyCharge.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            out.put((byte) 0);
+            out.putLong(unscaled.longValue());
+        } else {
+            byte[] bytes = unscaled.toByteArray();
+            out.put((byte) bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    static RentalAgreement decode(ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported journal record version " + version + ".");
+        }
+        String toolCode = getString(in);
+        String toolType = getString(in);
+        String toolBrand = getString(in);
+        int rentalDays = in.getInt();
+        LocalDate checkoutDate = LocalDate.ofEpochDay(in.getLong());
+        int chargeableDays = in.getInt();
+        int discountPercent = in.get();
+        int scale = in.getInt();
+        int unscaledLength = in.get() & 0xFF;
+        BigDecimal dailyCharge;
+        if (unscaledLength == 0) {
+            dailyCharge = BigDecimal.valueOf(in.getLong(), scale);
+        } else {
+            byte[] bytes = new byte[unscaledLength];
+            in.get(bytes);
+            dailyCharge = new BigDecimal(new BigInteger(bytes), scale);
+        }
+        // Charge flags and the holiday region are not journaled; the chargeable days are, so the charges come out
+        // the same, but the restored agreement has no tool or calendar and refuses to be modified.
+        return RentalAgreement.restored(toolCode, toolType, toolBrand, dailyCharge, rentalDays, checkoutDate, discountPercent,
+                chargeableDays);
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long for the journal.");
+        }
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,268 @@
+package main.java.journal;
+
+import main.java.model.RentalAgreement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Append-only log of agreements in memory-mapped segment files. Each record is
+//
+//   int length | int CRC32C of the payload | payload (see AgreementCodec)
+//
+// and a zero length marks the end of a segment. A new segment is started when a record does not fit. Appends
+// only copy into the mapping; a background thread forces written pages to disk and every append waiting for
+// durability since the previous force is released by the same force (group commit). A record whose length or
+// checksum is wrong is how a write torn by a crash shows up; reopening the journal erases it from the end of the
+// last segment. Replay stops at the first such record in any segment and reads no later segment, so what it
+// returns is always a prefix of what was appended, never a sequence with a gap.
+public class AgreementJournal implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int MIN_SEGMENT_SIZE = 1024 * 1024;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_PAYLOAD_SIZE = 3 * (2 + 0xFFFF) + 64 + 0xFF;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+    private final CRC32C checksum = new CRC32C();
+    private final Thread flusher;
+
+    // Guarded by this
+    private int segmentIndex;
+    private MappedByteBuffer segment;
+    private long appended;
+    private long durable;
+    private IOException flushFailure;
+    private boolean closed;
+
+    private AgreementJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            Path last = segments.get(segments.size() - 1);
+            segmentIndex = segmentIndex(last);
+            segment = map(last, FileChannel.MapMode.READ_WRITE, Math.max(segmentSize, (int) Files.size(last)));
+            int end = scan(segment, null);
+            // Clears whatever a torn write left behind, so it can never be read back after newer records
+            for (int position = end; position < segment.limit(); position++) {
+                if (segment.get(position) != 0) {
+                    segment.put(position, (byte) 0);
+                }
+            }
+            segment.position(end);
+        }
+        this.flusher = new Thread(this::flushLoop, "agreement-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static AgreementJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static AgreementJournal open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " + MIN_SEGMENT_SIZE + " bytes.");
+        }
+        return new AgreementJournal(directory, segmentSize);
+    }
+
+    // Returns the record's sequence number in this session; pass it to awaitDurable to wait for the disk.
+    public synchronized long append(RentalAgreement agreement) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed.");
+        }
+        payload.clear();
+        AgreementCodec.encode(agreement, payload);
+        payload.flip();
+        checksum.reset();
+        checksum.update(payload.array(), 0, payload.limit());
+
+        // Leaves room for the zero length that ends the segment
+        if (segment.remaining() < HEADER_SIZE + payload.limit() + 4) {
+            segment.force();
+            openSegment(segmentIndex + 1);
+        }
+        segment.putInt(payload.limit());
+        segment.putInt((int) checksum.getValue());
+        segment.put(payload);
+        appended++;
+        notifyAll();
+        return appended;
+    }
+
+    public void appendDurably(RentalAgreement agreement) throws IOException {
+        awaitDurable(append(agreement));
+    }
+
+    public synchronized void awaitDurable(long sequence) throws IOException {
+        boolean interrupted = false;
+        while (durable < sequence && flushFailure == null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            segment.force();
+            durable = appended;
+            notifyAll();
+        }
+    }
+
+    // Reads the records in order up to the first bad one and returns how many were read.
+    public static long replay(Path directory, Consumer<RentalAgreement> consumer) throws IOException {
+        long records = 0;
+        for (Path file : listSegments(directory)) {
+            MappedByteBuffer buffer = map(file, FileChannel.MapMode.READ_ONLY, (int) Files.size(file));
+            int[] count = new int[1];
+            int end = scan(buffer, agreement -> {
+                count[0]++;
+                consumer.accept(agreement);
+            });
+            records += count[0];
+            if (!endsCleanly(buffer, end)) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer toForce;
+            long target;
+            synchronized (this) {
+                while (durable == appended && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                toForce = segment;
+                target = appended;
+            }
+            try {
+                // Earlier segments were forced when the journal moved past them
+                toForce.force();
+            } catch (UncheckedIOException e) {
+                synchronized (this) {
+                    flushFailure = e.getCause();
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                durable = Math.max(durable, target);
+                notifyAll();
+            }
+        }
+    }
+
+    private void openSegment(int index) throws IOException {
+        segmentIndex = index;
+        segment = map(directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX)),
+                FileChannel.MapMode.READ_WRITE, segmentSize);
+    }
+
+    // Walks the records of one segment and returns the position after the last intact one.
+    private static int scan(ByteBuffer segment, Consumer<RentalAgreement> consumer) {
+        CRC32C checksum = new CRC32C();
+        int position = 0;
+        while (position + HEADER_SIZE <= segment.limit()) {
+            int length = segment.getInt(position);
+            if (length <= 0 || length > MAX_PAYLOAD_SIZE || position + HEADER_SIZE + length > segment.limit()) {
+                break;
+            }
+            int expectedChecksum = segment.getInt(position + 4);
+            ByteBuffer record = segment.slice(position + HEADER_SIZE, length);
+            checksum.reset();
+            checksum.update(record.duplicate());
+            if ((int) checksum.getValue() != expectedChecksum) {
+                break;
+            }
+            if (consumer != null) {
+                consumer.accept(AgreementCodec.decode(record));
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    // True when the scan stopped at the zero length that ends a segment, or at its end, rather than at a bad record.
+    private static boolean endsCleanly(ByteBuffer segment, int end) {
+        return end + HEADER_SIZE > segment.limit() || segment.getInt(end) == 0;
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode, int size) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(mode, 0, size);
+        }
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static int segmentIndex(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
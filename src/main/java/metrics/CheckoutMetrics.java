@@ -0,0 +1,79 @@
+package main.java.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histograms and counters for checkout. Callers take a start time with start() and pass it to one of the
+// record methods. When metrics are disabled start() does not read the clock and every record method returns
+// immediately, so the instrumented code pays for little more than a field read.
+public class CheckoutMetrics {
+    private static final CheckoutMetrics DISABLED = new CheckoutMetrics(false);
+    private static final String UNKNOWN_REASON = "Unknown";
+
+    private final boolean enabled;
+    private final LatencyHistogram checkoutLatency = new LatencyHistogram();
+    private final LatencyHistogram chargeableDaysLatency = new LatencyHistogram();
+    private final LatencyHistogram agreementLatency = new LatencyHistogram();
+    private final ConcurrentHashMap<String, LongAdder> checkoutsByTool = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> failuresByReason = new ConcurrentHashMap<>();
+
+    public CheckoutMetrics() {
+        this(true);
+    }
+
+    private CheckoutMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static CheckoutMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    // toolCode is expected to be the catalog's code, not the caller's input, so the set of counters stays bounded
+    public void recordCheckout(String toolCode, long startNanos) {
+        if (enabled) {
+            checkoutLatency.record(System.nanoTime() - startNanos);
+            checkoutsByTool.computeIfAbsent(toolCode, k -> new LongAdder()).increment();
+        }
+    }
+
+    public void recordFailure(String reason, long startNanos) {
+        if (enabled) {
+            checkoutLatency.record(System.nanoTime() - startNanos);
+            failuresByReason.computeIfAbsent(reason == null ? UNKNOWN_REASON : reason, k -> new LongAdder()).increment();
+        }
+    }
+
+    public void recordChargeableDays(long startNanos) {
+        if (enabled) {
+            chargeableDaysLatency.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public void recordAgreement(long startNanos) {
+        if (enabled) {
+            agreementLatency.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(checkoutLatency.snapshot(), chargeableDaysLatency.snapshot(), agreementLatency.snapshot(),
+                sums(checkoutsByTool), sums(failuresByReason));
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+}
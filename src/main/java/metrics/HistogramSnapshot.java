@@ -0,0 +1,52 @@
+package main.java.metrics;
+
+// Point-in-time copy of a LatencyHistogram. Percentiles are reported as the upper bound of their bucket.
+public class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long max;
+    private final double mean;
+
+    HistogramSnapshot(long[] counts, long max) {
+        this.counts = counts;
+        long count = 0;
+        double sum = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                count += counts[bucket];
+                sum += (double) counts[bucket] * Math.min(LatencyHistogram.bucketUpperBound(bucket), max);
+            }
+        }
+        this.count = count;
+        this.max = max;
+        this.mean = count == 0 ? 0 : sum / count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return max;
+    }
+
+    public double getMeanNanos() {
+        return mean;
+    }
+
+    // percentile between 0 and 100
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.bucketUpperBound(bucket), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,43 @@
+package main.java.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class MetricsSnapshot {
+    private final HistogramSnapshot checkoutLatency;
+    private final HistogramSnapshot chargeableDaysLatency;
+    private final HistogramSnapshot agreementLatency;
+    private final Map<String, Long> checkoutsByTool;
+    private final Map<String, Long> failuresByReason;
+
+    MetricsSnapshot(HistogramSnapshot checkoutLatency, HistogramSnapshot chargeableDaysLatency, HistogramSnapshot agreementLatency,
+                    Map<String, Long> checkoutsByTool, Map<String, Long> failuresByReason) {
+        this.checkoutLatency = checkoutLatency;
+        this.chargeableDaysLatency = chargeableDaysLatency;
+        this.agreementLatency = agreementLatency;
+        this.checkoutsByTool = Collections.unmodifiableMap(checkoutsByTool);
+        this.failuresByReason = Collections.unmodifiableMap(failuresByReason);
+    }
+
+    // Every checkout call, successful or not
+    public HistogramSnapshot getCheckoutLatency() {
+        return checkoutLatency;
+    }
+
+    public HistogramSnapshot getChargeableDaysLatency() {
+        return chargeableDaysLatency;
+    }
+
+    // Pricing and construction of the RentalAgreement once chargeable days are known
+    public HistogramSnapshot getAgreementLatency() {
+        return agreementLatency;
+    }
+
+    public Map<String, Long> getCheckoutsByTool() {
+        return checkoutsByTool;
+    }
+
+    public Map<String, Long> getFailuresByReason() {
+        return failuresByReason;
+    }
+}
@@ -0,0 +1,92 @@
+package main.java.model;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayYear;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+public final class ChargeableDayCounter {
+
+    private ChargeableDayCounter() {
+    }
+
+    public static int count(Tool tool, LocalDate checkoutDate, int rentalDays) {
+        return count(tool, tool.getHolidayCalendar(), checkoutDate, rentalDays);
+    }
+
+    // Counts the chargeable days from the day after checkout through the due date without visiting each day:
+    // weekdays and weekend days come from full weeks plus a remainder, holidays from each year's holiday set.
+    public static int count(Tool tool, HolidayCalendar holidayCalendar, LocalDate checkoutDate, int rentalDays) {
+        if (rentalDays < 1) {
+            return 0;
+        }
+        LocalDate firstDay = checkoutDate.plusDays(1);
+        LocalDate lastDay = checkoutDate.plusDays(rentalDays);
+
+        int weekdays = countWeekdays(firstDay.getDayOfWeek().getValue(), rentalDays);
+        int weekendDays = rentalDays - weekdays;
+
+        int weekdayHolidays = 0;
+        int weekendHolidays = 0;
+        int firstYear = firstDay.getYear();
+        int lastYear = lastDay.getYear();
+        for (int year = firstYear; year <= lastYear; year++) {
+            HolidayYear holidays = holidayCalendar.getYear(year);
+            int fromDayOfYear = year == firstYear ? firstDay.getDayOfYear() : 1;
+            int toDayOfYear = year == lastYear ? lastDay.getDayOfYear() : Year.isLeap(year) ? 366 : 365;
+            weekdayHolidays += holidays.countWeekdayHolidays(fromDayOfYear, toDayOfYear);
+            weekendHolidays += holidays.countWeekendHolidays(fromDayOfYear, toDayOfYear);
+        }
+
+        int chargeableDays = 0;
+        if (tool.isChargeWeekday()) {
+            chargeableDays += weekdays - weekdayHolidays;
+        }
+        if (tool.isChargeWeekend()) {
+            chargeableDays += weekendDays - weekendHolidays;
+        }
+        if (tool.isChargeHoliday()) {
+            chargeableDays += weekdayHolidays + weekendHolidays;
+        }
+        return chargeableDays;
+    }
+
+    // Moves a known count from one rental window to another by counting only the days added to or dropped from
+    // either end, so extending a long rental costs the same as pricing the extension on its own. Each window runs
+    // from the day after its checkout date through its due date.
+    public static int recount(Tool tool, HolidayCalendar holidayCalendar, int chargeableDays,
+                              LocalDate oldCheckoutDate, int oldRentalDays, LocalDate newCheckoutDate, int newRentalDays) {
+        long oldStart = oldCheckoutDate.toEpochDay();
+        long oldEnd = oldStart + Math.max(oldRentalDays, 0);
+        long newStart = newCheckoutDate.toEpochDay();
+        long newEnd = newStart + Math.max(newRentalDays, 0);
+        if (oldStart == oldEnd || newStart >= oldEnd || newEnd <= oldStart) {
+            return count(tool, holidayCalendar, newCheckoutDate, newRentalDays);
+        }
+
+        if (newStart < oldStart) {
+            chargeableDays += count(tool, holidayCalendar, newCheckoutDate, (int) (oldStart - newStart));
+        } else if (newStart > oldStart) {
+            chargeableDays -= count(tool, holidayCalendar, oldCheckoutDate, (int) (newStart - oldStart));
+        }
+        if (newEnd > oldEnd) {
+            chargeableDays += count(tool, holidayCalendar, LocalDate.ofEpochDay(oldEnd), (int) (newEnd - oldEnd));
+        } else if (newEnd < oldEnd) {
+            chargeableDays -= count(tool, holidayCalendar, LocalDate.ofEpochDay(newEnd), (int) (oldEnd - newEnd));
+        }
+        return chargeableDays;
+    }
+
+    static int countWeekdays(int firstDayOfWeek, int days) {
+        int weekdays = (days / 7) * 5;
+        int dayOfWeek = firstDayOfWeek;
+        for (int i = days % 7; i > 0; i--) {
+            if (dayOfWeek < 6) {
+                weekdays++;
+            }
+            dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+        }
+        return weekdays;
+    }
+}
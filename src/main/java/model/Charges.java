@@ -0,0 +1,105 @@
+package main.java.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Pre-discount charge, discount amount and final charge of an agreement. They are computed in whole cents with
+// long arithmetic, applying the same HALF_UP rounding as the BigDecimal formulas; when an intermediate value
+// would overflow a long, or the daily charge has more than 18 decimals, the BigDecimal formulas are used instead.
+public final class Charges {
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long preDiscountCents;
+    private final long discountAmountCents;
+    private final long finalChargeCents;
+    // Only set when the charges did not fit the fixed-point path
+    private final BigDecimal preDiscountCharge;
+    private final BigDecimal discountAmount;
+    private final BigDecimal finalCharge;
+
+    private Charges(long preDiscountCents, long discountAmountCents, long finalChargeCents) {
+        this.preDiscountCents = preDiscountCents;
+        this.discountAmountCents = discountAmountCents;
+        this.finalChargeCents = finalChargeCents;
+        this.preDiscountCharge = null;
+        this.discountAmount = null;
+        this.finalCharge = null;
+    }
+
+    private Charges(BigDecimal preDiscountCharge, BigDecimal discountAmount, BigDecimal finalCharge) {
+        this.preDiscountCents = 0;
+        this.discountAmountCents = 0;
+        this.finalChargeCents = 0;
+        this.preDiscountCharge = preDiscountCharge;
+        this.discountAmount = discountAmount;
+        this.finalCharge = finalCharge;
+    }
+
+    public static Charges calculate(BigDecimal dailyCharge, int chargeableDays, int discountPercent) {
+        int scale = dailyCharge.scale();
+        if (scale <= 18 && scale >= -16 && dailyCharge.unscaledValue().bitLength() < 64) {
+            try {
+                long unscaled = dailyCharge.unscaledValue().longValue();
+                long product = Math.multiplyExact(unscaled, (long) chargeableDays);
+                long preDiscount = scale <= 2
+                        ? Math.multiplyExact(product, POWERS_OF_TEN[2 - scale])
+                        : divideHalfUp(product, POWERS_OF_TEN[scale - 2]);
+                long discount = divideHalfUp(Math.multiplyExact(preDiscount, (long) discountPercent), 100);
+                return new Charges(preDiscount, discount, Math.subtractExact(preDiscount, discount));
+            } catch (ArithmeticException e) {
+                // falls through to the BigDecimal path
+            }
+        }
+        return calculateWithBigDecimal(dailyCharge, chargeableDays, discountPercent);
+    }
+
+    public static Charges calculateWithBigDecimal(BigDecimal dailyCharge, int chargeableDays, int discountPercent) {
+        BigDecimal preDiscountCharge = dailyCharge.multiply(BigDecimal.valueOf(chargeableDays)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal discountAmount = preDiscountCharge.multiply(BigDecimal.valueOf(discountPercent)).divide(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal finalCharge = preDiscountCharge.subtract(discountAmount).setScale(2, RoundingMode.HALF_UP);
+        return new Charges(preDiscountCharge, discountAmount, finalCharge);
+    }
+
+    // Rounds half away from zero, like RoundingMode.HALF_UP
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    public boolean isFixedPoint() {
+        return preDiscountCharge == null;
+    }
+
+    public BigDecimal getPreDiscountCharge() {
+        return preDiscountCharge != null ? preDiscountCharge : BigDecimal.valueOf(preDiscountCents, 2);
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return discountAmount != null ? discountAmount : BigDecimal.valueOf(discountAmountCents, 2);
+    }
+
+    public BigDecimal getFinalCharge() {
+        return finalCharge != null ? finalCharge : BigDecimal.valueOf(finalChargeCents, 2);
+    }
+
+    // The cent getters throw ArithmeticException when the amount does not fit in a long.
+    public long getPreDiscountCents() {
+        return preDiscountCharge != null ? preDiscountCharge.unscaledValue().longValueExact() : preDiscountCents;
+    }
+
+    public long getDiscountAmountCents() {
+        return discountAmount != null ? discountAmount.unscaledValue().longValueExact() : discountAmountCents;
+    }
+
+    public long getFinalChargeCents() {
+        return finalCharge != null ? finalCharge.unscaledValue().longValueExact() : finalChargeCents;
+    }
+}
@@ -1,10 +1,12 @@
 package main.java.model;
 
+import main.java.calendar.HolidayCalendar;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.text.NumberFormat;
 
 public class RentalAgreement {
 
@@ -17,53 +19,92 @@ public class RentalAgreement {
     private final LocalDate dueDate;
     private final BigDecimal dailyRentalCharge;
     private final int chargeableDays;
-    private final BigDecimal preDiscountCharge;
     private final int discountPercent;
-    private final BigDecimal discountAmount;
-    private final BigDecimal finalCharge;
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yy");
-    private final NumberFormat decimalFormatter = NumberFormat.getCurrencyInstance();
+    private final Charges charges;
+    // Both null for an agreement restored from its recorded fields
+    private final Tool tool;
+    private final HolidayCalendar holidayCalendar;
 
     public RentalAgreement(Tool tool, int rentalDays, LocalDate checkoutDate, int discountPercent) {
-        this.toolCode = tool.getCode();
-        this.toolType = tool.getType();
-        this.toolBrand = tool.getBrand();
+        this(tool, rentalDays, checkoutDate, discountPercent, tool.getHolidayCalendar());
+    }
+
+    public RentalAgreement(Tool tool, int rentalDays, LocalDate checkoutDate, int discountPercent, HolidayCalendar holidayCalendar) {
+        this(tool, rentalDays, checkoutDate, discountPercent, ChargeableDayCounter.count(tool, holidayCalendar, checkoutDate, rentalDays),
+                holidayCalendar);
+    }
+
+    // For callers that have already counted the chargeable days, e.g. when pricing many rentals over the same dates.
+    public RentalAgreement(Tool tool, int rentalDays, LocalDate checkoutDate, int discountPercent, int chargeableDays) {
+        this(tool, rentalDays, checkoutDate, discountPercent, chargeableDays, tool.getHolidayCalendar());
+    }
+
+    public RentalAgreement(Tool tool, int rentalDays, LocalDate checkoutDate, int discountPercent, int chargeableDays,
+                           HolidayCalendar holidayCalendar) {
+        this(tool, tool.getCode(), tool.getType(), tool.getBrand(), tool.getDailyCharge(), rentalDays, checkoutDate,
+                discountPercent, chargeableDays, holidayCalendar);
+    }
+
+    private RentalAgreement(@Nullable Tool tool, String toolCode, String toolType, String toolBrand, BigDecimal dailyRentalCharge,
+                            int rentalDays, LocalDate checkoutDate, int discountPercent, int chargeableDays,
+                            @Nullable HolidayCalendar holidayCalendar) {
+        this.tool = tool;
+        this.holidayCalendar = holidayCalendar;
+        this.toolCode = toolCode;
+        this.toolType = toolType;
+        this.toolBrand = toolBrand;
         this.rentalDays = rentalDays;
         this.checkoutDate = checkoutDate;
         this.dueDate = checkoutDate.plusDays(rentalDays);
-        this.dailyRentalCharge = tool.getDailyCharge();
+        this.dailyRentalCharge = dailyRentalCharge;
 
-        this.chargeableDays = calculateChargeableDays(tool);
-        this.preDiscountCharge = dailyRentalCharge.multiply(BigDecimal.valueOf(chargeableDays)).setScale(2, RoundingMode.HALF_UP);
+        this.chargeableDays = chargeableDays;
         this.discountPercent = discountPercent;
-        this.discountAmount = preDiscountCharge.multiply(BigDecimal.valueOf(discountPercent)).divide(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP);
-        this.finalCharge = preDiscountCharge.subtract(discountAmount).setScale(2, RoundingMode.HALF_UP);
+        this.charges = Charges.calculate(dailyRentalCharge, chargeableDays, discountPercent);
+    }
+
+    // An agreement rebuilt from its recorded fields alone, e.g. by the journal. Its charges are as recorded, but the
+    // tool's charge rules and the holiday calendar it was priced with are not known, so it has no tool or calendar
+    // to hand out and cannot be modified.
+    public static RentalAgreement restored(String toolCode, String toolType, String toolBrand, BigDecimal dailyRentalCharge,
+                                           int rentalDays, LocalDate checkoutDate, int discountPercent, int chargeableDays) {
+        return new RentalAgreement(null, toolCode, toolType, toolBrand, dailyRentalCharge, rentalDays, checkoutDate,
+                discountPercent, chargeableDays, null);
+    }
+
+    // The derived agreements keep this one's tool, calendar and discount, and recount only the days that enter or
+    // leave the rental window; the result is the same as checking out again with the new terms.
+    public RentalAgreement withRentalDays(int newRentalDays) {
+        return withTerms(checkoutDate, newRentalDays);
+    }
+
+    public RentalAgreement withCheckoutDate(LocalDate newCheckoutDate) {
+        return withTerms(newCheckoutDate, rentalDays);
     }
 
-    private int calculateChargeableDays(Tool tool) {
-        int chargeableDays = 0;
-        for (int i = 1; i <= rentalDays; i++) {
-            LocalDate date = checkoutDate.plusDays(i);
-            if (tool.isChargeable(date)) {
-                chargeableDays++;
-            }
+    public RentalAgreement withTerms(LocalDate newCheckoutDate, int newRentalDays) {
+        if (tool == null) {
+            throw new IllegalStateException("Agreement was restored without its pricing rules and cannot be modified.");
         }
-        return chargeableDays;
+        if (newCheckoutDate == null) {
+            throw new IllegalArgumentException("Checkout date is required.");
+        }
+        if (newRentalDays < 1) {
+            throw new IllegalArgumentException("Rental day count must be 1 or greater.");
+        }
+        int newChargeableDays = ChargeableDayCounter.recount(tool, holidayCalendar, chargeableDays,
+                checkoutDate, rentalDays, newCheckoutDate, newRentalDays);
+        return new RentalAgreement(tool, newRentalDays, newCheckoutDate, discountPercent, newChargeableDays, holidayCalendar);
     }
 
     public void printAgreement() {
-        System.out.printf("Tool code: %s\n", toolCode);
-        System.out.printf("Tool type: %s\n", toolType);
-        System.out.printf("Tool brand: %s\n", toolBrand);
-        System.out.printf("Rental days: %d\n", rentalDays);
-        System.out.printf("Checkout date: %s\n", checkoutDate.format(dateFormatter));
-        System.out.printf("Due date: %s\n", dueDate.format(dateFormatter));
-        System.out.printf("Daily rental charge: %s\n", decimalFormatter.format(dailyRentalCharge));
-        System.out.printf("Chargeable days: %d\n", chargeableDays);
-        System.out.printf("Pre-discount charge: %s\n", decimalFormatter.format(preDiscountCharge));
-        System.out.printf("Discount percent: %d%%\n", discountPercent);
-        System.out.printf("Discount amount: %s\n", decimalFormatter.format(discountAmount));
-        System.out.printf("Final charge: %s\n", decimalFormatter.format(finalCharge));
+        StringBuilder text = new StringBuilder(384);
+        try {
+            RentalAgreementRenderer.renderText(this, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.print(text);
     }
 
     public String getToolCode() {
@@ -99,7 +140,7 @@ public class RentalAgreement {
     }
 
     public BigDecimal getPreDiscountCharge() {
-        return preDiscountCharge;
+        return charges.getPreDiscountCharge();
     }
 
     public int getDiscountPercent() {
@@ -107,11 +148,34 @@ public class RentalAgreement {
     }
 
     public BigDecimal getDiscountAmount() {
-        return discountAmount;
+        return charges.getDiscountAmount();
     }
 
     public BigDecimal getFinalCharge() {
-        return finalCharge;
+        return charges.getFinalCharge();
+    }
+
+    public Charges getCharges() {
+        return charges;
+    }
+
+    // Throws IllegalStateException for a restored agreement, like getHolidayCalendar.
+    public Tool getTool() {
+        if (tool == null) {
+            throw new IllegalStateException("Agreement was restored without its tool.");
+        }
+        return tool;
+    }
+
+    public HolidayCalendar getHolidayCalendar() {
+        if (holidayCalendar == null) {
+            throw new IllegalStateException("Agreement was restored without its holiday calendar.");
+        }
+        return holidayCalendar;
+    }
+
+    public boolean isModifiable() {
+        return tool != null;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,277 @@
+package main.java.model;
+
+import main.java.json.FlatJson;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// Renders agreements into caller-supplied buffers. Text output is identical to what printAgreement used to
+// print with System.out.printf in the current default locale. Dates, whole numbers and currency amounts are
+// written digit by digit when that locale formats them the US way; otherwise the JDK formatters are used.
+// What a locale looks like is worked out once per thread and checked again whenever the default locale changes.
+public final class RentalAgreementRenderer {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yy");
+    private static final ThreadLocal<LocaleFormats> FORMATS = new ThreadLocal<>();
+
+    private RentalAgreementRenderer() {
+    }
+
+    public static void renderText(RentalAgreement agreement, Appendable out) throws IOException {
+        LocaleFormats formats = formats();
+        out.append("Tool code: ").append(agreement.getToolCode()).append('\n');
+        out.append("Tool type: ").append(agreement.getToolType()).append('\n');
+        out.append("Tool brand: ").append(agreement.getToolBrand()).append('\n');
+        out.append("Rental days: ");
+        appendInteger(out, formats, agreement.getRentalDays());
+        out.append("\nCheckout date: ");
+        appendDate(out, agreement.getCheckoutDate());
+        out.append("\nDue date: ");
+        appendDate(out, agreement.getDueDate());
+        out.append("\nDaily rental charge: ");
+        appendCurrency(out, formats, agreement.getDailyRentalCharge());
+        out.append("\nChargeable days: ");
+        appendInteger(out, formats, agreement.getChargeableDays());
+        Charges charges = agreement.getCharges();
+        boolean cents = formats.usCurrency && charges.isFixedPoint();
+        out.append("\nPre-discount charge: ");
+        if (cents) {
+            appendCents(out, formats, charges.getPreDiscountCents());
+        } else {
+            appendCurrency(out, formats, charges.getPreDiscountCharge());
+        }
+        out.append("\nDiscount percent: ");
+        appendInteger(out, formats, agreement.getDiscountPercent());
+        out.append("%\nDiscount amount: ");
+        if (cents) {
+            appendCents(out, formats, charges.getDiscountAmountCents());
+        } else {
+            appendCurrency(out, formats, charges.getDiscountAmount());
+        }
+        out.append("\nFinal charge: ");
+        if (cents) {
+            appendCents(out, formats, charges.getFinalChargeCents());
+        } else {
+            appendCurrency(out, formats, charges.getFinalCharge());
+        }
+        out.append('\n');
+    }
+
+    // Writes the text rendering as UTF-8; throws BufferOverflowException if the buffer is too small.
+    public static void renderText(RentalAgreement agreement, ByteBuffer out) {
+        try {
+            renderText(agreement, new Utf8ByteBufferAppendable(out));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // ByteBuffer appends do not throw IOException
+        }
+    }
+
+    public static void renderJson(RentalAgreement agreement, Appendable out) throws IOException {
+        out.append('{');
+        renderJsonFields(agreement, out);
+        out.append('}');
+    }
+
+    public static void renderJson(RentalAgreement agreement, ByteBuffer out) {
+        try {
+            renderJson(agreement, new Utf8ByteBufferAppendable(out));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The members of the JSON object without the surrounding braces, for embedding in a larger object.
+    // Dates are ISO-8601 and amounts plain decimal numbers.
+    public static void renderJsonFields(RentalAgreement agreement, Appendable out) throws IOException {
+        out.append("\"toolCode\":");
+        FlatJson.appendString(out, agreement.getToolCode());
+        out.append(",\"toolType\":");
+        FlatJson.appendString(out, agreement.getToolType());
+        out.append(",\"toolBrand\":");
+        FlatJson.appendString(out, agreement.getToolBrand());
+        out.append(",\"rentalDays\":");
+        appendDigits(out, agreement.getRentalDays());
+        out.append(",\"checkoutDate\":\"");
+        appendIsoDate(out, agreement.getCheckoutDate());
+        out.append("\",\"dueDate\":\"");
+        appendIsoDate(out, agreement.getDueDate());
+        out.append("\",\"dailyRentalCharge\":").append(agreement.getDailyRentalCharge().toPlainString());
+        out.append(",\"chargeableDays\":");
+        appendDigits(out, agreement.getChargeableDays());
+        out.append(",\"preDiscountCharge\":").append(agreement.getPreDiscountCharge().toPlainString());
+        out.append(",\"discountPercent\":");
+        appendDigits(out, agreement.getDiscountPercent());
+        out.append(",\"discountAmount\":").append(agreement.getDiscountAmount().toPlainString());
+        out.append(",\"finalCharge\":").append(agreement.getFinalCharge().toPlainString());
+    }
+
+    private static LocaleFormats formats() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        LocaleFormats formats = FORMATS.get();
+        if (formats == null || !formats.locale.equals(locale)) {
+            formats = new LocaleFormats(locale);
+            FORMATS.set(formats);
+        }
+        return formats;
+    }
+
+    private static void appendInteger(Appendable out, LocaleFormats formats, int value) throws IOException {
+        if (formats.asciiDigits) {
+            appendDigits(out, value);
+        } else {
+            out.append(String.format(formats.locale, "%d", value));
+        }
+    }
+
+    private static void appendDate(Appendable out, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 1) {
+            out.append(date.format(DATE_FORMATTER));
+            return;
+        }
+        appendTwoDigits(out, date.getMonthValue());
+        out.append('/');
+        appendTwoDigits(out, date.getDayOfMonth());
+        out.append('/');
+        appendTwoDigits(out, year % 100);
+    }
+
+    private static void appendIsoDate(Appendable out, LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            out.append(date.toString());
+            return;
+        }
+        appendDigits(out, year);
+        out.append('-');
+        appendTwoDigits(out, date.getMonthValue());
+        out.append('-');
+        appendTwoDigits(out, date.getDayOfMonth());
+    }
+
+    private static void appendCurrency(Appendable out, LocaleFormats formats, BigDecimal amount) throws IOException {
+        if (!formats.usCurrency || amount.signum() < 0 || amount.scale() > 2 || amount.precision() > 18) {
+            out.append(formats.currencyFormatter.format(amount));
+            return;
+        }
+        appendCents(out, formats, amount.scale() == 2 ? amount.unscaledValue().longValue() : amount.setScale(2).unscaledValue().longValue());
+    }
+
+    private static void appendCents(Appendable out, LocaleFormats formats, long cents) throws IOException {
+        if (cents < 0) {
+            out.append(formats.currencyFormatter.format(BigDecimal.valueOf(cents, 2)));
+            return;
+        }
+        long dollars = cents / 100;
+        out.append('$');
+        appendGrouped(out, dollars);
+        out.append('.');
+        appendTwoDigits(out, (int) (cents % 100));
+    }
+
+    private static void appendGrouped(Appendable out, long value) throws IOException {
+        if (value < 1000) {
+            appendDigits(out, value);
+            return;
+        }
+        appendGrouped(out, value / 1000);
+        out.append(',');
+        int group = (int) (value % 1000);
+        out.append((char) ('0' + group / 100));
+        appendTwoDigits(out, group % 100);
+    }
+
+    private static void appendTwoDigits(Appendable out, int value) throws IOException {
+        out.append((char) ('0' + value / 10));
+        out.append((char) ('0' + value % 10));
+    }
+
+    private static void appendDigits(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                out.append(Long.toString(value));
+                return;
+            }
+            out.append('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    // Per-thread, since NumberFormat is not thread-safe
+    private static final class LocaleFormats {
+        final Locale locale;
+        final NumberFormat currencyFormatter;
+        final boolean asciiDigits;
+        final boolean usCurrency;
+
+        LocaleFormats(Locale locale) {
+            this.locale = locale;
+            this.currencyFormatter = NumberFormat.getCurrencyInstance(locale);
+            this.asciiDigits = DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            this.usCurrency = "$1,234,567.89".equals(currencyFormatter.format(new BigDecimal("1234567.89")))
+                    && "$0.05".equals(currencyFormatter.format(new BigDecimal("0.05")));
+        }
+    }
+
+    private static final class Utf8ByteBufferAppendable implements Appendable {
+        private final ByteBuffer buffer;
+
+        Utf8ByteBufferAppendable(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public Appendable append(CharSequence chars) {
+            return append(chars, 0, chars.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence chars, int start, int end) {
+            for (int i = start; i < end; i++) {
+                char c = chars.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    putCodePoint(Character.toCodePoint(c, chars.charAt(++i)));
+                } else {
+                    putCodePoint(Character.isSurrogate(c) ? '?' : c);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            putCodePoint(Character.isSurrogate(c) ? '?' : c);
+            return this;
+        }
+
+        private void putCodePoint(int codePoint) {
+            if (codePoint < 0x80) {
+                buffer.put((byte) codePoint);
+            } else if (codePoint < 0x800) {
+                buffer.put((byte) (0xC0 | (codePoint >> 6)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (codePoint < 0x10000) {
+                buffer.put((byte) (0xE0 | (codePoint >> 12)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package main.java.model;
 
+import main.java.calendar.HolidayCalendar;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
@@ -13,9 +14,15 @@ public class Tool {
     private final boolean chargeWeekday;
     private final boolean chargeWeekend;
     private final boolean chargeHoliday;
+    private final HolidayCalendar holidayCalendar;
 
     public Tool(String code, String type, String brand, BigDecimal dailyCharge,
                 boolean chargeWeekday, boolean chargeWeekend, boolean chargeHoliday) {
+        this(code, type, brand, dailyCharge, chargeWeekday, chargeWeekend, chargeHoliday, HolidayCalendar.getDefault());
+    }
+
+    public Tool(String code, String type, String brand, BigDecimal dailyCharge,
+                boolean chargeWeekday, boolean chargeWeekend, boolean chargeHoliday, HolidayCalendar holidayCalendar) {
         this.code = code;
         this.type = type;
         this.brand = brand;
@@ -23,6 +30,7 @@ public class Tool {
         this.chargeWeekday = chargeWeekday;
         this.chargeWeekend = chargeWeekend;
         this.chargeHoliday = chargeHoliday;
+        this.holidayCalendar = holidayCalendar;
     }
 
     public String getCode() {
@@ -41,39 +49,26 @@ public class Tool {
         return dailyCharge;
     }
 
-    public boolean isChargeable(LocalDate date) {
-        return (chargeWeekday && date.getDayOfWeek().getValue() < 6 && !isHoliday(date)) ||
-                (chargeWeekend && date.getDayOfWeek().getValue() == 6 && !isHoliday(date)) ||
-                (chargeWeekend && date.getDayOfWeek().getValue() == 7 && !isHoliday(date)) ||
-                (chargeHoliday && isHoliday(date));
+    public boolean isChargeWeekday() {
+        return chargeWeekday;
     }
 
-    private boolean isHoliday(@NotNull LocalDate date) {
-        // Check for Independence Day and Labor Day
-        LocalDate independenceDay = getIndependenceDay(date.getYear());
-        LocalDate laborDay = getLaborDay(date.getYear());
-
-        return date.equals(independenceDay) || date.equals(laborDay);
+    public boolean isChargeWeekend() {
+        return chargeWeekend;
     }
 
-    private LocalDate getLaborDay(int year) {
-        // Find the first Monday in September for a given year to find Labor Day
-        LocalDate firstOfSeptember = LocalDate.of(year, 9, 1);
-        while (firstOfSeptember.getDayOfWeek().getValue() != 1) { // Monday
-            firstOfSeptember = firstOfSeptember.plusDays(1);
-        }
-        return firstOfSeptember;
+    public boolean isChargeHoliday() {
+        return chargeHoliday;
     }
 
-    private LocalDate getIndependenceDay(int year) {
-        // Find the nearest weekday to Independence Day to observe the holiday if it falls on a Weekend
-        LocalDate independenceDay = LocalDate.of(year, 7, 4);
+    public HolidayCalendar getHolidayCalendar() {
+        return holidayCalendar;
+    }
 
-        if (independenceDay.getDayOfWeek().getValue() == 6) { // Saturday
-            independenceDay = independenceDay.minusDays(1);
-        } else if (independenceDay.getDayOfWeek().getValue() == 7) { // Sunday
-            independenceDay = independenceDay.plusDays(1);
+    public boolean isChargeable(@NotNull LocalDate date) {
+        if (holidayCalendar.isHoliday(date)) {
+            return chargeHoliday;
         }
-        return independenceDay;
+        return date.getDayOfWeek().getValue() < 6 ? chargeWeekday : chargeWeekend;
     }
 }
\ No newline at end of file
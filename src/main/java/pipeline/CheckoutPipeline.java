@@ -0,0 +1,220 @@
+package main.java.pipeline;
+
+import main.java.service.BatchCheckoutService;
+import main.java.service.CheckoutRequest;
+import main.java.service.CheckoutResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Streams checkout requests from a file through batch pricing into an agreements file. The calling thread
+// reads and prices one batch at a time while a writer thread drains finished batches; the queue between them
+// is bounded, so a slow output blocks the reader and heap use depends only on batch size and queue depth.
+public class CheckoutPipeline {
+    private static final int DEFAULT_BATCH_SIZE = 4096;
+    private static final int DEFAULT_BATCHES_IN_FLIGHT = 4;
+    private static final Batch END_OF_INPUT = new Batch(0);
+
+    private final BatchCheckoutService batchCheckoutService;
+    private final int batchSize;
+    private final int batchesInFlight;
+
+    public CheckoutPipeline(BatchCheckoutService batchCheckoutService) {
+        this(batchCheckoutService, DEFAULT_BATCH_SIZE, DEFAULT_BATCHES_IN_FLIGHT);
+    }
+
+    public CheckoutPipeline(BatchCheckoutService batchCheckoutService, int batchSize, int batchesInFlight) {
+        if (batchSize < 1 || batchesInFlight < 1) {
+            throw new IllegalArgumentException("Batch size and batches in flight must be 1 or greater.");
+        }
+        this.batchCheckoutService = batchCheckoutService;
+        this.batchSize = batchSize;
+        this.batchesInFlight = batchesInFlight;
+    }
+
+    // Formats are chosen from the file extensions: .ndjson or .jsonl for NDJSON, anything else for CSV.
+    public PipelineSummary run(Path input, Path output) throws IOException {
+        return run(input, RecordFormat.forPath(input), output, RecordFormat.forPath(output));
+    }
+
+    public PipelineSummary run(Path input, RecordFormat inputFormat, Path output, RecordFormat outputFormat) throws IOException {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(batchesInFlight);
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            OutputWriter writerTask = new OutputWriter(queue, writer, outputFormat);
+            Thread writerThread = new Thread(writerTask, "checkout-pipeline-writer");
+            writerThread.start();
+            long records = 0;
+            try {
+                records = readBatches(reader, inputFormat, queue, writerTask);
+            } finally {
+                putUninterruptibly(queue, END_OF_INPUT);
+                joinUninterruptibly(writerThread);
+            }
+            if (writerTask.failure != null) {
+                throw writerTask.failure;
+            }
+            return new PipelineSummary(records, writerTask.agreements, writerTask.failures);
+        }
+    }
+
+    private long readBatches(BufferedReader reader, RecordFormat format, BlockingQueue<Batch> queue, OutputWriter writerTask) throws IOException {
+        long lineNumber = 0;
+        long records = 0;
+        Batch batch = new Batch(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format.isHeader(line))) {
+                continue;
+            }
+            records++;
+            batch.add(lineNumber, line, format);
+            if (batch.size() == batchSize) {
+                price(batch);
+                putUninterruptibly(queue, batch);
+                if (writerTask.failure != null) {
+                    return records;
+                }
+                batch = new Batch(batchSize);
+            }
+        }
+        if (batch.size() > 0) {
+            price(batch);
+            putUninterruptibly(queue, batch);
+        }
+        return records;
+    }
+
+    private void price(Batch batch) {
+        List<CheckoutResult> priced = batchCheckoutService.checkout(batch.requests);
+        for (int i = 0, p = 0; i < batch.size(); i++) {
+            if (batch.results[i] == null) {
+                batch.results[i] = priced.get(p++);
+            }
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<Batch> queue, Batch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Lines of one batch; lines that fail to parse get their failed result up front and are not priced.
+    private static final class Batch {
+        private final long[] lineNumbers;
+        private final CheckoutResult[] results;
+        private final List<CheckoutRequest> requests;
+        private int size;
+
+        Batch(int capacity) {
+            this.lineNumbers = new long[capacity];
+            this.results = new CheckoutResult[capacity];
+            this.requests = new ArrayList<>(capacity);
+        }
+
+        void add(long lineNumber, String line, RecordFormat format) {
+            lineNumbers[size] = lineNumber;
+            try {
+                requests.add(format.parseRequest(line));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                results[size] = CheckoutResult.failure(null, "Invalid request: " + e.getMessage());
+            }
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class OutputWriter implements Runnable {
+        private final BlockingQueue<Batch> queue;
+        private final BufferedWriter writer;
+        private final RecordFormat format;
+        private long agreements;
+        private long failures;
+        private volatile IOException failure;
+
+        OutputWriter(BlockingQueue<Batch> queue, BufferedWriter writer, RecordFormat format) {
+            this.queue = queue;
+            this.writer = writer;
+            this.format = format;
+        }
+
+        @Override
+        public void run() {
+            try {
+                format.writeHeader(writer);
+                Batch batch;
+                while ((batch = queue.take()) != END_OF_INPUT) {
+                    write(batch);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                failure = e;
+                drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void write(Batch batch) throws IOException {
+            for (int i = 0; i < batch.size(); i++) {
+                CheckoutResult result = batch.results[i];
+                if (result.isSuccessful()) {
+                    format.writeAgreement(writer, batch.lineNumbers[i], result.getAgreement());
+                    agreements++;
+                } else {
+                    format.writeError(writer, batch.lineNumbers[i], result.getErrorMessage());
+                    failures++;
+                }
+            }
+        }
+
+        // Keeps taking batches after a write failure so the reader is never left blocked on a full queue.
+        private void drain() {
+            try {
+                while (queue.take() != END_OF_INPUT) {
+                    // discard
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
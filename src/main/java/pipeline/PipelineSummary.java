@@ -0,0 +1,25 @@
+package main.java.pipeline;
+
+public class PipelineSummary {
+    private final long records;
+    private final long agreements;
+    private final long failures;
+
+    PipelineSummary(long records, long agreements, long failures) {
+        this.records = records;
+        this.agreements = agreements;
+        this.failures = failures;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getAgreements() {
+        return agreements;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,128 @@
+package main.java.pipeline;
+
+import main.java.json.FlatJson;
+import main.java.model.RentalAgreement;
+import main.java.model.RentalAgreementRenderer;
+import main.java.service.CheckoutRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+// Line formats understood by the checkout pipeline. Requests and agreements use the same format.
+public enum RecordFormat {
+    // toolCode,rentalDays,discountPercent,checkoutDate[,region] with ISO dates and an optional header line
+    CSV {
+        @Override
+        CheckoutRequest parseRequest(String line) {
+            String[] fields = line.split(",", -1);
+            if (fields.length != 4 && fields.length != 5) {
+                throw new IllegalArgumentException("Expected 4 or 5 fields.");
+            }
+            String toolCode = fields[0].trim();
+            int rentalDays = Integer.parseInt(fields[1].trim());
+            int discountPercent = Integer.parseInt(fields[2].trim());
+            LocalDate checkoutDate = LocalDate.parse(fields[3].trim());
+            return fields.length == 5
+                    ? new CheckoutRequest(toolCode, rentalDays, discountPercent, checkoutDate, fields[4].trim())
+                    : new CheckoutRequest(toolCode, rentalDays, discountPercent, checkoutDate);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.regionMatches(true, 0, "toolCode,", 0, 9);
+        }
+
+        @Override
+        void writeHeader(Appendable out) throws IOException {
+            out.append("line,toolCode,toolType,toolBrand,rentalDays,checkoutDate,dueDate,dailyRentalCharge,chargeableDays,"
+                    + "preDiscountCharge,discountPercent,discountAmount,finalCharge,error\n");
+        }
+
+        @Override
+        void writeAgreement(Appendable out, long lineNumber, RentalAgreement agreement) throws IOException {
+            out.append(Long.toString(lineNumber)).append(',')
+                    .append(agreement.getToolCode()).append(',')
+                    .append(agreement.getToolType()).append(',')
+                    .append(agreement.getToolBrand()).append(',')
+                    .append(Integer.toString(agreement.getRentalDays())).append(',')
+                    .append(agreement.getCheckoutDate().toString()).append(',')
+                    .append(agreement.getDueDate().toString()).append(',')
+                    .append(agreement.getDailyRentalCharge().toPlainString()).append(',')
+                    .append(Integer.toString(agreement.getChargeableDays())).append(',')
+                    .append(agreement.getPreDiscountCharge().toPlainString()).append(',')
+                    .append(Integer.toString(agreement.getDiscountPercent())).append(',')
+                    .append(agreement.getDiscountAmount().toPlainString()).append(',')
+                    .append(agreement.getFinalCharge().toPlainString()).append(",\n");
+        }
+
+        @Override
+        void writeError(Appendable out, long lineNumber, String errorMessage) throws IOException {
+            out.append(Long.toString(lineNumber)).append(",,,,,,,,,,,,,\"")
+                    .append(errorMessage.replace("\"", "\"\"")).append("\"\n");
+        }
+    },
+    // One flat JSON object per line with the members toolCode, rentalDays, discountPercent, checkoutDate and region
+    NDJSON {
+        @Override
+        CheckoutRequest parseRequest(String line) {
+            Map<String, String> members = FlatJson.parseObject(line);
+            String toolCode = members.get("toolCode");
+            int rentalDays = Integer.parseInt(required(members, "rentalDays"));
+            int discountPercent = Integer.parseInt(required(members, "discountPercent"));
+            LocalDate checkoutDate = LocalDate.parse(required(members, "checkoutDate"));
+            String region = members.get("region");
+            return region != null
+                    ? new CheckoutRequest(toolCode, rentalDays, discountPercent, checkoutDate, region)
+                    : new CheckoutRequest(toolCode, rentalDays, discountPercent, checkoutDate);
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        void writeHeader(Appendable out) {
+        }
+
+        @Override
+        void writeAgreement(Appendable out, long lineNumber, RentalAgreement agreement) throws IOException {
+            out.append("{\"line\":").append(Long.toString(lineNumber)).append(',');
+            RentalAgreementRenderer.renderJsonFields(agreement, out);
+            out.append("}\n");
+        }
+
+        @Override
+        void writeError(Appendable out, long lineNumber, String errorMessage) throws IOException {
+            out.append("{\"line\":").append(Long.toString(lineNumber)).append(",\"error\":");
+            FlatJson.appendString(out, errorMessage);
+            out.append("}\n");
+        }
+    };
+
+    public static RecordFormat forPath(Path path) {
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+
+    abstract CheckoutRequest parseRequest(String line);
+
+    abstract boolean isHeader(String line);
+
+    abstract void writeHeader(Appendable out) throws IOException;
+
+    abstract void writeAgreement(Appendable out, long lineNumber, RentalAgreement agreement) throws IOException;
+
+    abstract void writeError(Appendable out, long lineNumber, String errorMessage) throws IOException;
+
+    private static String required(Map<String, String> members, String name) {
+        String value = members.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name + ".");
+        }
+        return value;
+    }
+}
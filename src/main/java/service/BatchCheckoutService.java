@@ -0,0 +1,88 @@
+package main.java.service;
+
+import main.java.model.RentalAgreement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Prices many checkout requests in parallel. Results come back in input order, and a rejected request
+// yields a failed result instead of aborting the batch.
+public class BatchCheckoutService {
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final RentalService rentalService;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public BatchCheckoutService(RentalService rentalService) {
+        this(rentalService, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BatchCheckoutService(RentalService rentalService, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be 1 or greater.");
+        }
+        this.rentalService = rentalService;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<CheckoutResult> checkout(Stream<CheckoutRequest> requests) {
+        return checkout(requests.collect(Collectors.toList()));
+    }
+
+    public List<CheckoutResult> checkout(List<CheckoutRequest> requests) {
+        CheckoutRequest[] input = requests.toArray(new CheckoutRequest[0]);
+        CheckoutResult[] results = new CheckoutResult[input.length];
+        ChargeableDayMemo memo = new ChargeableDayMemo();
+        pool.invoke(new PricingTask(input, results, memo, 0, input.length));
+        return Arrays.asList(results);
+    }
+
+    private CheckoutResult price(CheckoutRequest request, ChargeableDayMemo memo) {
+        if (request == null) {
+            return CheckoutResult.failure(null, "Checkout request is required.");
+        }
+        try {
+            RentalAgreement agreement = rentalService.checkout(request.getToolCode(), request.getRentalDays(),
+                    request.getDiscountPercent(), request.getCheckoutDate(), request.getRegion(), memo);
+            return CheckoutResult.success(request, agreement);
+        } catch (IllegalArgumentException e) {
+            return CheckoutResult.failure(request, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("serial") // tasks are never serialized
+    private class PricingTask extends RecursiveAction {
+        private final CheckoutRequest[] requests;
+        private final CheckoutResult[] results;
+        private final ChargeableDayMemo memo;
+        private final int from;
+        private final int to;
+
+        PricingTask(CheckoutRequest[] requests, CheckoutResult[] results, ChargeableDayMemo memo, int from, int to) {
+            this.requests = requests;
+            this.results = results;
+            this.memo = memo;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = price(requests[i], memo);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PricingTask(requests, results, memo, from, middle),
+                    new PricingTask(requests, results, memo, middle, to));
+        }
+    }
+}
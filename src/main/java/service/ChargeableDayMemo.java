@@ -0,0 +1,59 @@
+package main.java.service;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.model.ChargeableDayCounter;
+import main.java.model.Tool;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shares chargeable-day counts between requests of one batch. The count only depends on the tool's charge
+// flags, the holiday calendar and the dates, so e.g. two jackhammer brands over the same dates share one entry.
+class ChargeableDayMemo {
+    private final ConcurrentHashMap<Key, Integer> counts = new ConcurrentHashMap<>();
+
+    int count(Tool tool, HolidayCalendar holidayCalendar, LocalDate checkoutDate, int rentalDays) {
+        Key key = new Key(holidayCalendar, flags(tool), checkoutDate.toEpochDay(), rentalDays);
+        return counts.computeIfAbsent(key, k -> ChargeableDayCounter.count(tool, holidayCalendar, checkoutDate, rentalDays));
+    }
+
+    int size() {
+        return counts.size();
+    }
+
+    private static int flags(Tool tool) {
+        return (tool.isChargeWeekday() ? 1 : 0) | (tool.isChargeWeekend() ? 2 : 0) | (tool.isChargeHoliday() ? 4 : 0);
+    }
+
+    private static final class Key {
+        private final HolidayCalendar holidayCalendar;
+        private final int flags;
+        private final long checkoutEpochDay;
+        private final int rentalDays;
+
+        Key(HolidayCalendar holidayCalendar, int flags, long checkoutEpochDay, int rentalDays) {
+            this.holidayCalendar = holidayCalendar;
+            this.flags = flags;
+            this.checkoutEpochDay = checkoutEpochDay;
+            this.rentalDays = rentalDays;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return holidayCalendar == other.holidayCalendar && flags == other.flags
+                    && checkoutEpochDay == other.checkoutEpochDay && rentalDays == other.rentalDays;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(holidayCalendar);
+            hash = 31 * hash + flags;
+            hash = 31 * hash + Long.hashCode(checkoutEpochDay);
+            return 31 * hash + rentalDays;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package main.java.service;
+
+import main.java.calendar.HolidayRegions;
+
+import java.time.LocalDate;
+
+public class CheckoutRequest {
+    private final String toolCode;
+    private final int rentalDays;
+    private final int discountPercent;
+    private final LocalDate checkoutDate;
+    private final String region;
+
+    public CheckoutRequest(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate) {
+        this(toolCode, rentalDays, discountPercent, checkoutDate, HolidayRegions.DEFAULT_REGION);
+    }
+
+    public CheckoutRequest(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate, String region) {
+        this.toolCode = toolCode;
+        this.rentalDays = rentalDays;
+        this.discountPercent = discountPercent;
+        this.checkoutDate = checkoutDate;
+        this.region = region;
+    }
+
+    public String getToolCode() {
+        return toolCode;
+    }
+
+    public int getRentalDays() {
+        return rentalDays;
+    }
+
+    public int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public LocalDate getCheckoutDate() {
+        return checkoutDate;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
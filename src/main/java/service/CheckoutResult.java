@@ -0,0 +1,43 @@
+package main.java.service;
+
+import main.java.model.RentalAgreement;
+import org.jetbrains.annotations.Nullable;
+
+// Outcome of one request in a batch: either the agreement or the reason the request was rejected.
+public class CheckoutResult {
+    private final CheckoutRequest request;
+    private final RentalAgreement agreement;
+    private final String errorMessage;
+
+    private CheckoutResult(CheckoutRequest request, RentalAgreement agreement, String errorMessage) {
+        this.request = request;
+        this.agreement = agreement;
+        this.errorMessage = errorMessage;
+    }
+
+    public static CheckoutResult success(CheckoutRequest request, RentalAgreement agreement) {
+        return new CheckoutResult(request, agreement, null);
+    }
+
+    public static CheckoutResult failure(CheckoutRequest request, String errorMessage) {
+        return new CheckoutResult(request, null, errorMessage);
+    }
+
+    public CheckoutRequest getRequest() {
+        return request;
+    }
+
+    public boolean isSuccessful() {
+        return agreement != null;
+    }
+
+    @Nullable
+    public RentalAgreement getAgreement() {
+        return agreement;
+    }
+
+    @Nullable
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,195 @@
+package main.java.service;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.model.RentalAgreement;
+import main.java.model.Tool;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Caches agreements for repeated (tool, rental days, discount, checkout date, region) quotes. Entries are
+// evicted least-recently-used per segment and expire after a time to live. A cached agreement is only returned
+// while the catalog still holds a tool with the same code, description, price, charge flags and holiday
+// calendar, so a catalog reload that changes any of them invalidates the quote on its next lookup.
+// RentalAgreement is immutable, so cached instances are shared between callers.
+public class QuoteCache {
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuoteCache(int maxEntries, Duration timeToLive) {
+        this(maxEntries, timeToLive, System::nanoTime);
+    }
+
+    public QuoteCache(int maxEntries, Duration timeToLive, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be 1 or greater.");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    RentalAgreement get(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate,
+                        HolidayCalendar holidayCalendar, Supplier<RentalAgreement> pricing) {
+        Key key = new Key(tool.getCode(), rentalDays, discountPercent, checkoutDate, holidayCalendar);
+        Segment segment = segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+        long now = nanoClock.getAsLong();
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null) {
+                if (now - entry.createdNanos >= timeToLiveNanos) {
+                    segment.remove(key);
+                    evictions.increment();
+                } else if (!hasSameTerms(entry.tool, tool)) {
+                    segment.remove(key);
+                    invalidations.increment();
+                } else {
+                    hits.increment();
+                    return entry.agreement;
+                }
+            }
+        }
+        misses.increment();
+        // Priced outside the lock; two concurrent misses for the same quote both price it and the later one wins
+        RentalAgreement agreement = pricing.get();
+        synchronized (segment) {
+            segment.put(key, new Entry(tool, agreement, now));
+        }
+        return agreement;
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                invalidations.add(segment.size());
+                segment.clear();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Entries dropped because the cache was full or they outlived the time to live.
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    // Entries dropped because their tool changed in the catalog, or by invalidateAll.
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private static boolean hasSameTerms(Tool cached, Tool current) {
+        return cached == current || (cached.getCode().equals(current.getCode())
+                && cached.getType().equals(current.getType())
+                && cached.getBrand().equals(current.getBrand())
+                && cached.getDailyCharge().equals(current.getDailyCharge())
+                && cached.isChargeWeekday() == current.isChargeWeekday()
+                && cached.isChargeWeekend() == current.isChargeWeekend()
+                && cached.isChargeHoliday() == current.isChargeHoliday()
+                && cached.getHolidayCalendar() == current.getHolidayCalendar());
+    }
+
+    @SuppressWarnings("serial") // segments are never serialized
+    private final class Segment extends LinkedHashMap<Key, Entry> {
+        private final int maxEntries;
+
+        Segment(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Entry {
+        private final Tool tool;
+        private final RentalAgreement agreement;
+        private final long createdNanos;
+
+        Entry(Tool tool, RentalAgreement agreement, long createdNanos) {
+            this.tool = tool;
+            this.agreement = agreement;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    private static final class Key {
+        private final String toolCode;
+        private final int rentalDays;
+        private final int discountPercent;
+        private final LocalDate checkoutDate;
+        private final HolidayCalendar holidayCalendar;
+        private final int hash;
+
+        Key(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate, HolidayCalendar holidayCalendar) {
+            this.toolCode = toolCode;
+            this.rentalDays = rentalDays;
+            this.discountPercent = discountPercent;
+            this.checkoutDate = checkoutDate;
+            this.holidayCalendar = holidayCalendar;
+            int hash = toolCode.hashCode();
+            hash = 31 * hash + rentalDays;
+            hash = 31 * hash + discountPercent;
+            hash = 31 * hash + checkoutDate.hashCode();
+            this.hash = 31 * hash + System.identityHashCode(holidayCalendar);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return rentalDays == other.rentalDays && discountPercent == other.discountPercent
+                    && holidayCalendar == other.holidayCalendar && toolCode.equals(other.toolCode)
+                    && checkoutDate.equals(other.checkoutDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package main.java.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.catalog.ToolCatalog;
+import main.java.journal.AgreementJournal;
+import main.java.metrics.CheckoutMetrics;
+import main.java.model.ChargeableDayCounter;
 import main.java.model.RentalAgreement;
 import main.java.model.Tool;
 import org.jetbrains.annotations.Nullable;
@@ -10,14 +19,111 @@ import org.jetbrains.annotations.Nullable;
 
 public class RentalService {
 
-    private final Tool[] tools = {
-            new Tool("CHNS", "Chainsaw", "Stihl", new BigDecimal("1.49"), true, false, true),
-            new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false),
-            new Tool("JAKD", "Jackhammer", "DeWalt", new BigDecimal("2.99"), true, false, false),
-            new Tool("JAKR", "Jackhammer", "Ridgid", new BigDecimal("2.99"), true, false, false)
-    };
+    private final ToolCatalog toolCatalog;
+    private final HolidayRegions holidayRegions;
+    private final QuoteCache quoteCache;
+    private final AgreementJournal agreementJournal;
+    private final CheckoutMetrics metrics;
+
+    public RentalService() {
+        this(HolidayRegions.getDefault());
+    }
+
+    public RentalService(HolidayRegions holidayRegions) {
+        this(defaultCatalog(holidayRegions.getDefaultCalendar()), holidayRegions);
+    }
+
+    public RentalService(ToolCatalog toolCatalog, HolidayRegions holidayRegions) {
+        this(toolCatalog, holidayRegions, null);
+    }
+
+    public RentalService(ToolCatalog toolCatalog, HolidayRegions holidayRegions, @Nullable QuoteCache quoteCache) {
+        this(toolCatalog, holidayRegions, quoteCache, null);
+    }
+
+    // Agreements are appended to the journal without waiting for its background flush to reach the disk.
+    public RentalService(ToolCatalog toolCatalog, HolidayRegions holidayRegions, @Nullable QuoteCache quoteCache,
+                         @Nullable AgreementJournal agreementJournal) {
+        this(toolCatalog, holidayRegions, quoteCache, agreementJournal, CheckoutMetrics.disabled());
+    }
+
+    public RentalService(ToolCatalog toolCatalog, HolidayRegions holidayRegions, @Nullable QuoteCache quoteCache,
+                         @Nullable AgreementJournal agreementJournal, CheckoutMetrics metrics) {
+        this.toolCatalog = toolCatalog;
+        this.holidayRegions = holidayRegions;
+        this.quoteCache = quoteCache;
+        this.agreementJournal = agreementJournal;
+        this.metrics = metrics;
+    }
+
+    public static ToolCatalog defaultCatalog(HolidayCalendar holidayCalendar) {
+        return new ToolCatalog(List.of(
+                new Tool("CHNS", "Chainsaw", "Stihl", new BigDecimal("1.49"), true, false, true, holidayCalendar),
+                new Tool("LADW", "Ladder", "Werner", new BigDecimal("1.99"), true, true, false, holidayCalendar),
+                new Tool("JAKD", "Jackhammer", "DeWalt", new BigDecimal("2.99"), true, false, false, holidayCalendar),
+                new Tool("JAKR", "Jackhammer", "Ridgid", new BigDecimal("2.99"), true, false, false, holidayCalendar)
+        ), holidayCalendar);
+    }
+
+    public ToolCatalog getToolCatalog() {
+        return toolCatalog;
+    }
+
+    @Nullable
+    public QuoteCache getQuoteCache() {
+        return quoteCache;
+    }
+
+    public CheckoutMetrics getMetrics() {
+        return metrics;
+    }
 
     public RentalAgreement checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate) {
+        return checkout(toolCode, rentalDays, discountPercent, checkoutDate, HolidayRegions.DEFAULT_REGION);
+    }
+
+    public RentalAgreement checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate, String region) {
+        return checkout(toolCode, rentalDays, discountPercent, checkoutDate, region, null);
+    }
+
+    RentalAgreement checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate, String region,
+                             @Nullable ChargeableDayMemo memo) {
+        long start = metrics.start();
+        try {
+            RentalAgreement agreement = checkoutUninstrumented(toolCode, rentalDays, discountPercent, checkoutDate, region, memo);
+            metrics.recordCheckout(agreement.getToolCode(), start);
+            return agreement;
+        } catch (IllegalArgumentException e) {
+            metrics.recordFailure(e.getMessage(), start);
+            throw e;
+        }
+    }
+
+    public RentalAgreement extend(RentalAgreement agreement, int additionalDays) {
+        return modify(agreement, agreement.getCheckoutDate(), agreement.getRentalDays() + additionalDays);
+    }
+
+    // Derives the new agreement from the existing one instead of pricing the whole rental again; see
+    // RentalAgreement.withTerms. The result is journaled like any other checkout. Agreements replayed from the
+    // journal cannot be modified and throw IllegalStateException.
+    public RentalAgreement modify(RentalAgreement agreement, LocalDate checkoutDate, int rentalDays) {
+        long start = metrics.start();
+        try {
+            RentalAgreement modified = agreement.withTerms(checkoutDate, rentalDays);
+            journal(modified);
+            metrics.recordCheckout(modified.getToolCode(), start);
+            return modified;
+        } catch (IllegalArgumentException e) {
+            metrics.recordFailure(e.getMessage(), start);
+            throw e;
+        }
+    }
+
+    private RentalAgreement checkoutUninstrumented(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate,
+                                                   String region, @Nullable ChargeableDayMemo memo) {
+        if (checkoutDate == null) {
+            throw new IllegalArgumentException("Checkout date is required.");
+        }
         if (rentalDays < 1) {
             throw new IllegalArgumentException("Rental day count must be 1 or greater.");
         }
@@ -30,17 +136,44 @@ public class RentalService {
             throw new IllegalArgumentException("Invalid tool code.");
         }
 
-        return new RentalAgreement(tool, rentalDays, checkoutDate, discountPercent);
+        HolidayCalendar holidayCalendar = holidayRegions.getCalendar(region);
+
+        RentalAgreement agreement = quoteCache == null
+                ? price(tool, rentalDays, discountPercent, checkoutDate, holidayCalendar, memo)
+                : quoteCache.get(tool, rentalDays, discountPercent, checkoutDate, holidayCalendar,
+                        () -> price(tool, rentalDays, discountPercent, checkoutDate, holidayCalendar, memo));
+
+        journal(agreement);
+        return agreement;
     }
 
-    @Nullable
-    private Tool findToolByCode(String toolCode) {
-        for (Tool tool : tools) {
-            if (tool.getCode().equalsIgnoreCase(toolCode)) {
-                return tool;
+    private void journal(RentalAgreement agreement) {
+        if (agreementJournal != null) {
+            try {
+                agreementJournal.append(agreement);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
-        return null;
+    }
+
+    private RentalAgreement price(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate,
+                                  HolidayCalendar holidayCalendar, @Nullable ChargeableDayMemo memo) {
+        long start = metrics.start();
+        int chargeableDays = memo == null
+                ? ChargeableDayCounter.count(tool, holidayCalendar, checkoutDate, rentalDays)
+                : memo.count(tool, holidayCalendar, checkoutDate, rentalDays);
+        metrics.recordChargeableDays(start);
+
+        start = metrics.start();
+        RentalAgreement agreement = new RentalAgreement(tool, rentalDays, checkoutDate, discountPercent, chargeableDays, holidayCalendar);
+        metrics.recordAgreement(start);
+        return agreement;
+    }
+
+    @Nullable
+    private Tool findToolByCode(String toolCode) {
+        return toolCatalog.find(toolCode);
     }
 
 }
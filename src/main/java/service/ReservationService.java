@@ -0,0 +1,58 @@
+package main.java.service;
+
+import main.java.calendar.HolidayRegions;
+import main.java.inventory.InventoryService;
+import main.java.inventory.Reservation;
+import main.java.model.RentalAgreement;
+
+import java.time.LocalDate;
+
+// Checkout that also takes a unit out of inventory for the rental period. The unit is reserved before the rental
+// is priced, so a rental that cannot get a unit is never journaled or counted as a checkout. The unit stays out
+// until the returned ReservedRental is released.
+public class ReservationService {
+    private final RentalService rentalService;
+    private final InventoryService inventoryService;
+
+    public ReservationService(RentalService rentalService, InventoryService inventoryService) {
+        this.rentalService = rentalService;
+        this.inventoryService = inventoryService;
+    }
+
+    public ReservedRental checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate) {
+        return checkout(toolCode, rentalDays, discountPercent, checkoutDate, HolidayRegions.DEFAULT_REGION);
+    }
+
+    public ReservedRental checkout(String toolCode, int rentalDays, int discountPercent, LocalDate checkoutDate, String region) {
+        if (checkoutDate == null) {
+            throw new IllegalArgumentException("Checkout date is required.");
+        }
+        if (rentalDays < 1) {
+            throw new IllegalArgumentException("Rental day count must be 1 or greater.");
+        }
+        Reservation reservation = inventoryService.reserve(toolCode, checkoutDate, rentalDays);
+        if (reservation == null) {
+            throw new IllegalStateException("Tool is not available for the requested dates.");
+        }
+        RentalAgreement agreement;
+        try {
+            agreement = rentalService.checkout(toolCode, rentalDays, discountPercent, checkoutDate, region);
+        } catch (RuntimeException e) {
+            inventoryService.release(reservation);
+            throw e;
+        }
+        return new ReservedRental(agreement, reservation);
+    }
+
+    // Returns false, and changes nothing, when the rental was already released.
+    public boolean release(ReservedRental rental) {
+        return inventoryService.release(rental.getReservation());
+    }
+
+    public int available(String toolCode, LocalDate checkoutDate, int rentalDays) {
+        if (rentalDays < 1) {
+            throw new IllegalArgumentException("Rental day count must be 1 or greater.");
+        }
+        return inventoryService.available(toolCode, checkoutDate, rentalDays);
+    }
+}
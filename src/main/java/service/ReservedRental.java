@@ -0,0 +1,24 @@
+package main.java.service;
+
+import main.java.inventory.Reservation;
+import main.java.model.RentalAgreement;
+
+// An agreement together with the inventory reservation made for it; pass it to ReservationService.release when the
+// tool comes back.
+public class ReservedRental {
+    private final RentalAgreement agreement;
+    private final Reservation reservation;
+
+    ReservedRental(RentalAgreement agreement, Reservation reservation) {
+        this.agreement = agreement;
+        this.reservation = reservation;
+    }
+
+    public RentalAgreement getAgreement() {
+        return agreement;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+}
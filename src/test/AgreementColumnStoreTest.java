@@ -0,0 +1,135 @@
+package test;
+
+import main.java.analytics.AgreementColumnStore;
+import main.java.analytics.GroupBy;
+import main.java.analytics.RevenueReport;
+import main.java.analytics.RevenueRow;
+import main.java.model.RentalAgreement;
+import main.java.model.Tool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgreementColumnStoreTest {
+    private List<RentalAgreement> agreements;
+    private AgreementColumnStore store;
+
+    @BeforeEach
+    void setUp() {
+        agreements = SampleAgreements.list(5000, LocalDate.of(2019, 1, 1), 3 * 365, 30);
+        // A small initial capacity and minimum chunk size so the test covers growing and splitting the scan
+        store = new AgreementColumnStore(16, ForkJoinPool.commonPool(), 100);
+        store.addAll(agreements);
+    }
+
+    private static String groupOf(RentalAgreement agreement, GroupBy groupBy) {
+        switch (groupBy) {
+            case TOOL_TYPE:
+                return agreement.getToolType();
+            case TOOL_BRAND:
+                return agreement.getToolBrand();
+            default:
+                return agreement.getToolCode();
+        }
+    }
+
+    private List<String> expectedRows(GroupBy groupBy, LocalDate from, LocalDate to) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (RentalAgreement agreement : agreements) {
+            if (agreement.getCheckoutDate().isBefore(from) || agreement.getCheckoutDate().isAfter(to)) {
+                continue;
+            }
+            String key = groupOf(agreement, groupBy) + " " + YearMonth.from(agreement.getCheckoutDate());
+            long[] row = totals.computeIfAbsent(key, k -> new long[5]);
+            row[0]++;
+            row[1] += agreement.getChargeableDays();
+            row[2] += agreement.getPreDiscountCharge().movePointRight(2).longValueExact();
+            row[3] += agreement.getDiscountAmount().movePointRight(2).longValueExact();
+            row[4] += agreement.getFinalCharge().movePointRight(2).longValueExact();
+        }
+        List<String> rows = new ArrayList<>();
+        totals.forEach((key, row) -> rows.add(key + " " + row[0] + " " + row[1] + " " + row[2] + " " + row[3] + " " + row[4]));
+        return rows;
+    }
+
+    private static List<String> actualRows(RevenueReport report) {
+        List<String> rows = new ArrayList<>();
+        for (RevenueRow row : report.getRows()) {
+            rows.add(row.getGroup() + " " + row.getMonth() + " " + row.getAgreements() + " " + row.getChargeableDays() + " "
+                    + row.getPreDiscountCents() + " " + row.getDiscountCents() + " " + row.getFinalChargeCents());
+        }
+        return rows;
+    }
+
+    @Test
+    void revenueByMonth_shouldMatchSummingAgreements_forEachGrouping() {
+        LocalDate from = LocalDate.of(2019, 3, 17);
+        LocalDate to = LocalDate.of(2021, 2, 28);
+        for (GroupBy groupBy : GroupBy.values()) {
+            assertEquals(expectedRows(groupBy, from, to), actualRows(store.revenueByMonth(groupBy, from, to)), groupBy.name());
+        }
+    }
+
+    @Test
+    void revenueByMonth_shouldCoverAllAgreements_forUnboundedRange() {
+        RevenueReport report = store.revenueByMonth(GroupBy.TOOL_TYPE, LocalDate.MIN, LocalDate.MAX);
+
+        assertEquals(agreements.size(), report.getAgreements());
+        assertEquals(expectedRows(GroupBy.TOOL_TYPE, LocalDate.MIN, LocalDate.MAX), actualRows(report));
+    }
+
+    @Test
+    void revenueByMonth_shouldMatchSummingAgreements_forThousandsOfToolCodes() {
+        // 3000 codes over three years are far more group and month cells than a slice keeps in a dense array
+        Random random = new Random(SampleAgreements.SEED);
+        agreements = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int code = random.nextInt(3000);
+            Tool tool = new Tool(String.format("T%04d", code), "Type" + code % 7, "Brand" + code % 11, new BigDecimal("1.99"),
+                    true, code % 2 == 0, false);
+            agreements.add(new RentalAgreement(tool, 1 + random.nextInt(30), LocalDate.of(2019, 1, 1).plusDays(random.nextInt(3 * 365)),
+                    random.nextInt(101)));
+        }
+        store = new AgreementColumnStore(16, ForkJoinPool.commonPool(), 100);
+        store.addAll(agreements);
+
+        LocalDate from = LocalDate.of(2019, 3, 17);
+        LocalDate to = LocalDate.of(2021, 2, 28);
+        for (GroupBy groupBy : GroupBy.values()) {
+            assertEquals(expectedRows(groupBy, from, to), actualRows(store.revenueByMonth(groupBy, from, to)), groupBy.name());
+        }
+    }
+
+    @Test
+    void totalDiscountCents_shouldMatchSummingAgreements() {
+        LocalDate from = LocalDate.of(2020, 7, 1);
+        LocalDate to = LocalDate.of(2020, 7, 31);
+        long expected = 0;
+        for (RentalAgreement agreement : agreements) {
+            if (!agreement.getCheckoutDate().isBefore(from) && !agreement.getCheckoutDate().isAfter(to)) {
+                expected += agreement.getDiscountAmount().movePointRight(2).longValueExact();
+            }
+        }
+
+        assertEquals(expected, store.totalDiscountCents(from, to));
+    }
+
+    @Test
+    void revenueByMonth_shouldReturnNoRows_WhenRangeHasNoAgreements() {
+        RevenueReport report = store.revenueByMonth(GroupBy.TOOL_CODE, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 12, 31));
+
+        assertTrue(report.getRows().isEmpty());
+        assertEquals(0, report.getFinalChargeCents());
+    }
+}
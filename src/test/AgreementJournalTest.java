@@ -0,0 +1,144 @@
+package test;
+
+import main.java.journal.AgreementJournal;
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgreementJournalTest {
+    @TempDir
+    Path directory;
+
+    private static List<RentalAgreement> agreements(int count) {
+        return SampleAgreements.list(count, LocalDate.of(2015, 1, 1), 3000, 400);
+    }
+
+    private static void assertSameAgreement(RentalAgreement expected, RentalAgreement actual) {
+        assertEquals(expected.getToolCode(), actual.getToolCode());
+        assertEquals(expected.getToolType(), actual.getToolType());
+        assertEquals(expected.getToolBrand(), actual.getToolBrand());
+        assertEquals(expected.getRentalDays(), actual.getRentalDays());
+        assertEquals(expected.getCheckoutDate(), actual.getCheckoutDate());
+        assertEquals(expected.getDailyRentalCharge(), actual.getDailyRentalCharge());
+        assertEquals(expected.getChargeableDays(), actual.getChargeableDays());
+        assertEquals(expected.getDiscountPercent(), actual.getDiscountPercent());
+        assertEquals(expected.getFinalCharge(), actual.getFinalCharge());
+    }
+
+    @Test
+    void replay_shouldReturnAppendedAgreementsInOrder_acrossSegmentsAndReopens() throws IOException {
+        List<RentalAgreement> agreements = agreements(50_000);
+
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            for (RentalAgreement agreement : agreements.subList(0, 30_000)) {
+                journal.append(agreement);
+            }
+        }
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            for (RentalAgreement agreement : agreements.subList(30_000, 49_999)) {
+                journal.append(agreement);
+            }
+            journal.appendDurably(agreements.get(49_999));
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        assertEquals(50_000, AgreementJournal.replay(directory, replayed::add));
+        for (int i = 0; i < agreements.size(); i++) {
+            assertSameAgreement(agreements.get(i), replayed.get(i));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1, "Journal should have rolled to a new segment");
+        }
+    }
+
+    @Test
+    void open_shouldDropTornRecord_andKeepAppendingAfterLastIntactRecord() throws IOException {
+        List<RentalAgreement> agreements = agreements(3);
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            journal.append(agreements.get(0));
+            journal.append(agreements.get(1));
+        }
+        // Flip a payload byte of the second record, as if the crash hit mid-write
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int secondRecord = 8 + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x7F}), secondRecord + 12);
+        }
+
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            journal.append(agreements.get(2));
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        assertEquals(2, AgreementJournal.replay(directory, replayed::add));
+        assertSameAgreement(agreements.get(0), replayed.get(0));
+        assertSameAgreement(agreements.get(2), replayed.get(1));
+    }
+
+    @Test
+    void replay_shouldStopAtBadRecord_withoutSkippingToLaterSegments() throws IOException {
+        List<RentalAgreement> agreements = agreements(50_000);
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            for (RentalAgreement agreement : agreements) {
+                journal.append(agreement);
+            }
+        }
+        // Corrupts the 100th record of the first of several segments
+        Path segment;
+        try (Stream<Path> files = Files.list(directory).sorted()) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            long position = 0;
+            for (int record = 0; record < 99; record++) {
+                channel.read(header.clear(), position);
+                position += 8 + header.flip().getInt();
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x7F}), position + 12);
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        assertEquals(99, AgreementJournal.replay(directory, replayed::add));
+        assertSameAgreement(agreements.get(98), replayed.get(98));
+    }
+
+    @Test
+    void replay_shouldReturnAgreementsThatRefuseModification_andHaveNoPricingRules() throws IOException {
+        RentalAgreement agreement = agreements(1).get(0);
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            journal.append(agreement);
+        }
+
+        List<RentalAgreement> replayed = new ArrayList<>();
+        AgreementJournal.replay(directory, replayed::add);
+
+        assertTrue(agreement.isModifiable());
+        assertFalse(replayed.get(0).isModifiable());
+        assertThrows(IllegalStateException.class, () -> replayed.get(0).withRentalDays(agreement.getRentalDays() + 1));
+        assertThrows(IllegalStateException.class, () -> new RentalService().extend(replayed.get(0), 1));
+        // The charge flags and the region were not journaled, so there is no tool or calendar to report
+        assertThrows(IllegalStateException.class, () -> replayed.get(0).getTool());
+        assertThrows(IllegalStateException.class, () -> replayed.get(0).getHolidayCalendar());
+        assertEquals(agreement.getFinalCharge(), replayed.get(0).getFinalCharge());
+    }
+}
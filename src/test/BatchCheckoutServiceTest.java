@@ -0,0 +1,66 @@
+package test;
+
+import main.java.model.RentalAgreement;
+import main.java.service.BatchCheckoutService;
+import main.java.service.CheckoutRequest;
+import main.java.service.CheckoutResult;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchCheckoutServiceTest {
+    private RentalService rentalService;
+    private ForkJoinPool pool;
+    private BatchCheckoutService batchCheckoutService;
+
+    @BeforeEach
+    void setUp() {
+        rentalService = new RentalService();
+        pool = new ForkJoinPool(4);
+        batchCheckoutService = new BatchCheckoutService(rentalService, pool, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void checkout_shouldMatchSingleCheckouts_inInputOrder() {
+        String[] toolCodes = {"CHNS", "LADW", "JAKD", "JAKR", "NOPE"};
+        Random random = new Random(7);
+        List<CheckoutRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            requests.add(new CheckoutRequest(toolCodes[random.nextInt(toolCodes.length)], random.nextInt(20),
+                    random.nextInt(110), LocalDate.of(2015, 6, 28).plusDays(random.nextInt(10))));
+        }
+
+        List<CheckoutResult> results = batchCheckoutService.checkout(requests);
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CheckoutRequest request = requests.get(i);
+            CheckoutResult result = results.get(i);
+            assertSame(request, result.getRequest());
+            try {
+                RentalAgreement expected = rentalService.checkout(request.getToolCode(), request.getRentalDays(),
+                        request.getDiscountPercent(), request.getCheckoutDate());
+                assertTrue(result.isSuccessful(), "Request " + i + " should succeed");
+                assertEquals(expected.getChargeableDays(), result.getAgreement().getChargeableDays());
+                assertEquals(expected.getFinalCharge(), result.getAgreement().getFinalCharge());
+            } catch (IllegalArgumentException e) {
+                assertFalse(result.isSuccessful(), "Request " + i + " should fail");
+                assertEquals(e.getMessage(), result.getErrorMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRules;
+import main.java.model.ChargeableDayCounter;
+import main.java.model.Tool;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChargeableDayCounterTest {
+
+    private static int countByLoop(Tool tool, LocalDate checkoutDate, int rentalDays) {
+        int chargeableDays = 0;
+        for (int i = 1; i <= rentalDays; i++) {
+            if (tool.isChargeable(checkoutDate.plusDays(i))) {
+                chargeableDays++;
+            }
+        }
+        return chargeableDays;
+    }
+
+    private static Tool toolWithFlags(int flags) {
+        return new Tool("TEST", "Test", "Test", new BigDecimal("1.00"),
+                (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0);
+    }
+
+    @Test
+    void count_shouldMatchDayByDayLoop_forRandomRentals() {
+        Random random = new Random(1024);
+        for (int i = 0; i < 5000; i++) {
+            Tool tool = toolWithFlags(random.nextInt(8));
+            LocalDate checkoutDate = LocalDate.of(1990, 1, 1).plusDays(random.nextInt(365 * 50));
+            int rentalDays = 1 + random.nextInt(random.nextBoolean() ? 30 : 4000);
+
+            assertEquals(countByLoop(tool, checkoutDate, rentalDays), ChargeableDayCounter.count(tool, checkoutDate, rentalDays),
+                    "Mismatch for flags " + tool.isChargeWeekday() + "/" + tool.isChargeWeekend() + "/" + tool.isChargeHoliday()
+                            + ", checkout " + checkoutDate + ", " + rentalDays + " days");
+        }
+    }
+
+    @Test
+    void count_shouldMatchDayByDayLoop_aroundHolidays() {
+        for (int flags = 0; flags < 8; flags++) {
+            Tool tool = toolWithFlags(flags);
+            for (int year = 2014; year <= 2028; year++) {
+                for (LocalDate checkoutDate = LocalDate.of(year, 6, 25); checkoutDate.isBefore(LocalDate.of(year, 9, 10)); checkoutDate = checkoutDate.plusDays(1)) {
+                    for (int rentalDays = 1; rentalDays <= 15; rentalDays++) {
+                        assertEquals(countByLoop(tool, checkoutDate, rentalDays), ChargeableDayCounter.count(tool, checkoutDate, rentalDays));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void count_shouldMatchDayByDayLoop_forMultiDecadeLeases() {
+        for (int flags = 0; flags < 8; flags++) {
+            Tool tool = toolWithFlags(flags);
+            LocalDate checkoutDate = LocalDate.of(2015, 7, 2);
+            assertEquals(countByLoop(tool, checkoutDate, 36500), ChargeableDayCounter.count(tool, checkoutDate, 36500));
+        }
+    }
+
+    @Test
+    void count_shouldMatchDayByDayLoop_whenHolidayCacheKeepsEvictingYears() {
+        HolidayCalendar holidayCalendar = new HolidayCalendar(HolidayRules.unitedStates(), 1);
+        Tool tool = new Tool("TEST", "Test", "Test", new BigDecimal("1.00"), true, false, true, holidayCalendar);
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            LocalDate checkoutDate = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(365 * 30));
+            int rentalDays = 1 + random.nextInt(2000);
+            assertEquals(countByLoop(tool, checkoutDate, rentalDays), ChargeableDayCounter.count(tool, checkoutDate, rentalDays));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package test;
+
+import main.java.model.Charges;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChargesTest {
+
+    private static void assertSameCharges(BigDecimal dailyCharge, int chargeableDays, int discountPercent) {
+        Charges expected = Charges.calculateWithBigDecimal(dailyCharge, chargeableDays, discountPercent);
+        Charges actual = Charges.calculate(dailyCharge, chargeableDays, discountPercent);
+        String inputs = dailyCharge + " x " + chargeableDays + " days, " + discountPercent + "%";
+        assertEquals(expected.getPreDiscountCharge(), actual.getPreDiscountCharge(), "Pre-discount charge for " + inputs);
+        assertEquals(expected.getDiscountAmount(), actual.getDiscountAmount(), "Discount amount for " + inputs);
+        assertEquals(expected.getFinalCharge(), actual.getFinalCharge(), "Final charge for " + inputs);
+    }
+
+    @Test
+    void calculate_shouldMatchBigDecimalPath_forEveryDiscount() {
+        String[] dailyCharges = {"0", "0.01", "1.49", "1.99", "2.99", "2.5", "7", "0.125", "12.345", "0.0049", "1E+1"};
+        for (String dailyCharge : dailyCharges) {
+            for (int discountPercent = 0; discountPercent <= 100; discountPercent++) {
+                for (int chargeableDays = 0; chargeableDays <= 400; chargeableDays++) {
+                    assertSameCharges(new BigDecimal(dailyCharge), chargeableDays, discountPercent);
+                }
+            }
+        }
+    }
+
+    @Test
+    void calculate_shouldMatchBigDecimalPath_forRandomInputs() {
+        Random random = new Random(8);
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal dailyCharge = BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(5));
+            assertSameCharges(dailyCharge, random.nextInt(Integer.MAX_VALUE), random.nextInt(101));
+        }
+    }
+
+    @Test
+    void calculate_shouldFallBackToBigDecimal_whenCentsOverflow() {
+        BigDecimal dailyCharge = new BigDecimal("92233720368547758.07");
+        Charges charges = Charges.calculate(dailyCharge, 1000, 15);
+
+        assertFalse(charges.isFixedPoint());
+        assertSameCharges(dailyCharge, 1000, 15);
+        assertThrows(ArithmeticException.class, charges::getFinalChargeCents);
+        assertTrue(Charges.calculate(new BigDecimal("2.99"), 1000, 15).isFixedPoint());
+    }
+}
@@ -0,0 +1,114 @@
+package test;
+
+import main.java.http.CheckoutHttpServer;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutHttpServerTest {
+    private CheckoutHttpServer server;
+    private HttpClient client;
+    private String baseUri;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new CheckoutHttpServer(new RentalService(), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+        server.start();
+        client = HttpClient.newHttpClient();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUri + path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUri + path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void checkout_shouldReturnAgreement_andMakeItRetrievable() throws Exception {
+        HttpResponse<String> created = post("/checkout",
+                "{\"toolCode\":\"LADW\",\"rentalDays\":3,\"discountPercent\":10,\"checkoutDate\":\"2020-07-02\"}");
+
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().startsWith("{\"id\":1,\"toolCode\":\"LADW\""), created.body());
+        assertTrue(created.body().endsWith("\"finalCharge\":3.58}"), created.body());
+        assertEquals(created.body(), get("/agreements/1").body());
+        assertEquals(404, get("/agreements/2").statusCode());
+    }
+
+    @Test
+    void agreements_shouldForgetOldestAgreement_onceRetainedCountIsExceeded() throws Exception {
+        CheckoutHttpServer small = new CheckoutHttpServer(new RentalService(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 10, 2);
+        small.start();
+        try {
+            String uri = "http://127.0.0.1:" + small.getAddress().getPort();
+            for (int i = 0; i < 3; i++) {
+                HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(uri + "/checkout"))
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"toolCode\":\"JAKR\",\"rentalDays\":1,\"discountPercent\":0,\"checkoutDate\":\"2020-07-02\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(201, created.statusCode());
+            }
+
+            for (int id = 1; id <= 4; id++) {
+                int status = client.send(HttpRequest.newBuilder(URI.create(uri + "/agreements/" + id)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                assertEquals(id == 2 || id == 3 ? 200 : 404, status, "Agreement " + id);
+            }
+        } finally {
+            small.stop();
+        }
+    }
+
+    @Test
+    void checkout_shouldReturnBadRequest_forInvalidInput() throws Exception {
+        HttpResponse<String> response = post("/checkout",
+                "{\"toolCode\":\"LADW\",\"rentalDays\":0,\"discountPercent\":10,\"checkoutDate\":\"2020-07-02\"}");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("{\"error\":\"Rental day count must be 1 or greater.\"}", response.body());
+    }
+
+    @Test
+    void batchCheckout_shouldAnswerEachLineInOrder_andEnforceMaxBatchSize() throws Exception {
+        HttpResponse<String> response = post("/checkout/batch",
+                "{\"toolCode\":\"NOPE\",\"rentalDays\":3,\"discountPercent\":10,\"checkoutDate\":\"2020-07-02\"}\n" +
+                "{\"toolCode\":\"JAKR\",\"rentalDays\":4,\"discountPercent\":50,\"checkoutDate\":\"2020-07-02\"}\n");
+
+        String[] lines = response.body().split("\n");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"error\":\"Invalid tool code.\"}", lines[0]);
+        assertTrue(lines[1].contains("\"finalCharge\":1.49"), lines[1]);
+        assertEquals(413, post("/checkout/batch", "{}\n{}\n{}\n").statusCode());
+    }
+
+    @Test
+    void tool_shouldReturnCatalogEntry() throws Exception {
+        HttpResponse<String> response = get("/tools/chns");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"code\":\"CHNS\",\"type\":\"Chainsaw\",\"brand\":\"Stihl\",\"dailyCharge\":1.49,"
+                + "\"chargeWeekday\":true,\"chargeWeekend\":false,\"chargeHoliday\":true}", response.body());
+        assertEquals(404, get("/tools/NOPE").statusCode());
+    }
+}
@@ -0,0 +1,66 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.metrics.CheckoutMetrics;
+import main.java.metrics.HistogramSnapshot;
+import main.java.metrics.LatencyHistogram;
+import main.java.metrics.MetricsSnapshot;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutMetricsTest {
+
+    @Test
+    void snapshot_shouldCountCheckoutsByToolAndFailuresByReason() {
+        CheckoutMetrics metrics = new CheckoutMetrics();
+        RentalService rentalService = new RentalService(RentalService.defaultCatalog(HolidayCalendar.getDefault()),
+                HolidayRegions.getDefault(), null, null, metrics);
+
+        rentalService.checkout("jakr", 5, 0, LocalDate.of(2015, 9, 3));
+        rentalService.checkout("JAKR", 5, 0, LocalDate.of(2015, 9, 3));
+        rentalService.checkout("LADW", 5, 0, LocalDate.of(2015, 9, 3));
+        assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("NOPE", 5, 0, LocalDate.of(2015, 9, 3)));
+        assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("LADW", 5, 101, LocalDate.of(2015, 9, 3)));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getCheckoutsByTool().get("JAKR").longValue());
+        assertEquals(1, snapshot.getCheckoutsByTool().get("LADW").longValue());
+        assertEquals(1, snapshot.getFailuresByReason().get("Invalid tool code.").longValue());
+        assertEquals(1, snapshot.getFailuresByReason().get("Discount percent must be between 0 and 100.").longValue());
+        assertEquals(5, snapshot.getCheckoutLatency().getCount());
+        assertEquals(3, snapshot.getChargeableDaysLatency().getCount());
+        assertEquals(3, snapshot.getAgreementLatency().getCount());
+    }
+
+    @Test
+    void snapshot_shouldStayEmpty_whenMetricsAreDisabled() {
+        RentalService rentalService = new RentalService();
+        rentalService.checkout("JAKR", 5, 0, LocalDate.of(2015, 9, 3));
+
+        MetricsSnapshot snapshot = rentalService.getMetrics().snapshot();
+        assertFalse(rentalService.getMetrics().isEnabled());
+        assertEquals(0, snapshot.getCheckoutLatency().getCount());
+        assertTrue(snapshot.getCheckoutsByTool().isEmpty());
+    }
+
+    @Test
+    void histogram_shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000, snapshot.getMaxNanos());
+        assertEquals(50_000, snapshot.getPercentileNanos(50), 50_000 * 0.04);
+        assertEquals(99_000, snapshot.getPercentileNanos(99), 99_000 * 0.04);
+        assertEquals(50_000, snapshot.getMeanNanos(), 50_000 * 0.04);
+        assertEquals(100_000, snapshot.getPercentileNanos(100));
+    }
+}
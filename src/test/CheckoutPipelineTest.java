@@ -0,0 +1,63 @@
+package test;
+
+import main.java.pipeline.CheckoutPipeline;
+import main.java.pipeline.PipelineSummary;
+import main.java.service.BatchCheckoutService;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CheckoutPipelineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void run_shouldWriteAgreementsAndErrorsInInputOrder_forCsv() throws IOException {
+        Path input = directory.resolve("requests.csv");
+        Path output = directory.resolve("agreements.csv");
+        Files.write(input, List.of(
+                "toolCode,rentalDays,discountPercent,checkoutDate",
+                "LADW,3,10,2020-07-02",
+                "JAKR,0,0,2020-07-02",
+                "CHNS,5,25,2015-07-02",
+                "JAKD,not-a-number,0,2015-09-03"), StandardCharsets.UTF_8);
+
+        PipelineSummary summary = new CheckoutPipeline(new BatchCheckoutService(new RentalService()), 2, 1).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(4, summary.getRecords());
+        assertEquals(2, summary.getAgreements());
+        assertEquals(2, summary.getFailures());
+        assertEquals(5, lines.size());
+        assertEquals("2,LADW,Ladder,Werner,3,2020-07-02,2020-07-05,1.99,2,3.98,10,0.40,3.58,", lines.get(1));
+        assertEquals("3,,,,,,,,,,,,,\"Rental day count must be 1 or greater.\"", lines.get(2));
+        assertTrue(lines.get(3).startsWith("4,CHNS,"));
+        assertTrue(lines.get(4).startsWith("5,,"));
+    }
+
+    @Test
+    void run_shouldReadAndWriteNdjson() throws IOException {
+        Path input = directory.resolve("requests.ndjson");
+        Path output = directory.resolve("agreements.ndjson");
+        Files.write(input, List.of(
+                "{\"toolCode\":\"JAKR\",\"rentalDays\":4,\"discountPercent\":50,\"checkoutDate\":\"2020-07-02\"}",
+                "{\"toolCode\":\"XXXX\",\"rentalDays\":4,\"discountPercent\":50,\"checkoutDate\":\"2020-07-02\"}"), StandardCharsets.UTF_8);
+
+        new CheckoutPipeline(new BatchCheckoutService(new RentalService())).run(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals("{\"line\":1,\"toolCode\":\"JAKR\",\"toolType\":\"Jackhammer\",\"toolBrand\":\"Ridgid\",\"rentalDays\":4,"
+                + "\"checkoutDate\":\"2020-07-02\",\"dueDate\":\"2020-07-06\",\"dailyRentalCharge\":2.99,\"chargeableDays\":1,"
+                + "\"preDiscountCharge\":2.99,\"discountPercent\":50,\"discountAmount\":1.50,\"finalCharge\":1.49}", lines.get(0));
+        assertEquals("{\"line\":2,\"error\":\"Invalid tool code.\"}", lines.get(1));
+    }
+}
@@ -0,0 +1,64 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.calendar.HolidayRules;
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayRegionsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_shouldReadShippedRuleFiles_matchingBuiltInUsRules() throws IOException {
+        HolidayCalendar shipped = HolidayRegions.load(Path.of("config", "holidays")).getCalendar("US");
+        HolidayCalendar builtIn = new HolidayCalendar(HolidayRules.unitedStates());
+
+        for (int year = 2000; year <= 2040; year++) {
+            assertEquals(builtIn.getYear(year).countWeekdayHolidays(1, 365), shipped.getYear(year).countWeekdayHolidays(1, 365),
+                    "Weekday holidays in " + year);
+            assertEquals(builtIn.getYear(year).countWeekendHolidays(1, 365), shipped.getYear(year).countWeekendHolidays(1, 365),
+                    "Weekend holidays in " + year);
+        }
+    }
+
+    @Test
+    void load_shouldAddRegionPerFile_andKeepBuiltInUs() throws IOException {
+        Files.write(directory.resolve("CA.holidays"), List.of(
+                "# Canada Day and Labour Day",
+                "Canada Day: fixed 7 1 observed",
+                "Labour Day: nth 1 MONDAY 9"), StandardCharsets.UTF_8);
+        Files.write(directory.resolve("notes.txt"), List.of("not a rule file"), StandardCharsets.UTF_8);
+
+        RentalService rentalService = new RentalService(HolidayRegions.load(directory));
+
+        // July 1st 2020 is a Wednesday: a holiday in Canada, but not in the US
+        RentalAgreement canadian = rentalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 6, 30), "CA");
+        RentalAgreement american = rentalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 6, 30), "US");
+        assertEquals(0, canadian.getChargeableDays());
+        assertEquals(1, american.getChargeableDays());
+        assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 6, 30), "NOTES"));
+    }
+
+    @Test
+    void load_shouldReportFileAndLine_WhenRuleIsInvalid() throws IOException {
+        Files.write(directory.resolve("XX.holidays"), List.of("Bad: fixed 13 1"), StandardCharsets.UTF_8);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> HolidayRegions.load(directory));
+        assertTrue(exception.getMessage().contains("XX.holidays"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("line 1"), exception.getMessage());
+    }
+}
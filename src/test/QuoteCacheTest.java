@@ -0,0 +1,75 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.model.RentalAgreement;
+import main.java.model.Tool;
+import main.java.service.QuoteCache;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuoteCacheTest {
+    private AtomicLong clock;
+    private QuoteCache quoteCache;
+    private RentalService rentalService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        quoteCache = new QuoteCache(16, Duration.ofMinutes(5), clock::get);
+        rentalService = new RentalService(RentalService.defaultCatalog(HolidayCalendar.getDefault()),
+                HolidayRegions.getDefault(), quoteCache);
+    }
+
+    @Test
+    void checkout_shouldReuseAgreement_forRepeatedQuotes() {
+        RentalAgreement first = rentalService.checkout("JAKR", 9, 0, LocalDate.of(2015, 7, 2));
+        RentalAgreement second = rentalService.checkout("jakr", 9, 0, LocalDate.of(2015, 7, 2));
+        RentalAgreement other = rentalService.checkout("JAKR", 9, 10, LocalDate.of(2015, 7, 2));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(1, quoteCache.getHits());
+        assertEquals(2, quoteCache.getMisses());
+    }
+
+    @Test
+    void checkout_shouldRepriceQuote_whenToolPriceChanges() {
+        RentalAgreement before = rentalService.checkout("JAKR", 9, 0, LocalDate.of(2015, 7, 2));
+        rentalService.getToolCatalog().replace(List.of(
+                new Tool("JAKR", "Jackhammer", "Ridgid", new BigDecimal("3.99"), true, false, false)));
+
+        RentalAgreement after = rentalService.checkout("JAKR", 9, 0, LocalDate.of(2015, 7, 2));
+
+        assertEquals(new BigDecimal("14.95"), before.getFinalCharge());
+        assertEquals(new BigDecimal("19.95"), after.getFinalCharge());
+        assertEquals(1, quoteCache.getInvalidations());
+        assertEquals(0, quoteCache.getHits());
+    }
+
+    @Test
+    void checkout_shouldEvictQuotes_whenFullOrExpired() {
+        for (int rentalDays = 1; rentalDays <= 100; rentalDays++) {
+            rentalService.checkout("LADW", rentalDays, 0, LocalDate.of(2020, 7, 2));
+        }
+        assertTrue(quoteCache.size() <= 16, "Cache should stay bounded");
+        assertTrue(quoteCache.getEvictions() >= 84);
+
+        RentalAgreement cached = rentalService.checkout("LADW", 100, 0, LocalDate.of(2020, 7, 2));
+        long evictions = quoteCache.getEvictions();
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        RentalAgreement expired = rentalService.checkout("LADW", 100, 0, LocalDate.of(2020, 7, 2));
+
+        assertNotSame(cached, expired);
+        assertEquals(evictions + 1, quoteCache.getEvictions());
+    }
+}
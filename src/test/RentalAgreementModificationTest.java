@@ -0,0 +1,81 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalAgreementModificationTest {
+    private RentalService rentalService;
+
+    @BeforeEach
+    void setUp() {
+        rentalService = new RentalService();
+    }
+
+    private static void assertSameAgreement(RentalAgreement expected, RentalAgreement actual, String context) {
+        assertEquals(expected.getToolCode(), actual.getToolCode(), context);
+        assertEquals(expected.getCheckoutDate(), actual.getCheckoutDate(), context);
+        assertEquals(expected.getRentalDays(), actual.getRentalDays(), context);
+        assertEquals(expected.getDueDate(), actual.getDueDate(), context);
+        assertEquals(expected.getChargeableDays(), actual.getChargeableDays(), context);
+        assertEquals(expected.getDiscountPercent(), actual.getDiscountPercent(), context);
+        assertEquals(expected.getPreDiscountCharge(), actual.getPreDiscountCharge(), context);
+        assertEquals(expected.getDiscountAmount(), actual.getDiscountAmount(), context);
+        assertEquals(expected.getFinalCharge(), actual.getFinalCharge(), context);
+    }
+
+    @Test
+    void withTerms_shouldMatchFullCheckout_forRandomModifications() {
+        Random random = new Random(SampleAgreements.SEED);
+        for (int i = 0; i < 5000; i++) {
+            RentalAgreement agreement = SampleAgreements.next(rentalService, random, LocalDate.of(2000, 1, 1), 365 * 30,
+                    random.nextBoolean() ? 30 : 2000);
+            String toolCode = agreement.getToolCode();
+            int discountPercent = agreement.getDiscountPercent();
+            LocalDate checkoutDate = agreement.getCheckoutDate();
+            int rentalDays = agreement.getRentalDays();
+
+            LocalDate newCheckoutDate = random.nextBoolean() ? checkoutDate : checkoutDate.plusDays(random.nextInt(4001) - 2000);
+            int newRentalDays = 1 + random.nextInt(random.nextBoolean() ? 30 : 2000);
+            String context = toolCode + " " + checkoutDate + "+" + rentalDays + " -> " + newCheckoutDate + "+" + newRentalDays;
+
+            assertSameAgreement(rentalService.checkout(toolCode, newRentalDays, discountPercent, newCheckoutDate),
+                    agreement.withTerms(newCheckoutDate, newRentalDays), context);
+        }
+    }
+
+    @Test
+    void extend_shouldMatchFullCheckout_acrossHolidays() {
+        RentalAgreement agreement = rentalService.checkout("LADW", 1, 10, LocalDate.of(2020, 7, 2));
+        for (int rentalDays = 2; rentalDays <= 400; rentalDays++) {
+            agreement = rentalService.extend(agreement, 1);
+            assertSameAgreement(rentalService.checkout("LADW", rentalDays, 10, LocalDate.of(2020, 7, 2)), agreement,
+                    rentalDays + " days");
+        }
+    }
+
+    @Test
+    void withCheckoutDate_shouldKeepRegionCalendar() {
+        HolidayCalendar calendar = HolidayRegions.getDefault().getDefaultCalendar();
+        RentalAgreement agreement = rentalService.checkout("CHNS", 5, 0, LocalDate.of(2015, 7, 2), HolidayRegions.DEFAULT_REGION);
+        RentalAgreement moved = agreement.withCheckoutDate(LocalDate.of(2015, 9, 3));
+
+        assertSame(calendar, moved.getHolidayCalendar());
+        assertSameAgreement(rentalService.checkout("CHNS", 5, 0, LocalDate.of(2015, 9, 3)), moved, "moved");
+    }
+
+    @Test
+    void modify_shouldThrowException_WhenRentalDayCountIsLessThanOne() {
+        RentalAgreement agreement = rentalService.checkout("JAKR", 5, 0, LocalDate.of(2015, 9, 3));
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> rentalService.extend(agreement, -5));
+        assertEquals("Rental day count must be 1 or greater.", exception.getMessage());
+    }
+}
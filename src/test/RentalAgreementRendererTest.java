@@ -0,0 +1,100 @@
+package test;
+
+import main.java.model.RentalAgreement;
+import main.java.model.RentalAgreementRenderer;
+import main.java.model.Tool;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RentalAgreementRendererTest {
+
+    // The output of printAgreement before it was moved onto RentalAgreementRenderer
+    private static String printfReference(RentalAgreement agreement) {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MM/dd/yy");
+        NumberFormat decimalFormatter = NumberFormat.getCurrencyInstance();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        out.printf("Tool code: %s\n", agreement.getToolCode());
+        out.printf("Tool type: %s\n", agreement.getToolType());
+        out.printf("Tool brand: %s\n", agreement.getToolBrand());
+        out.printf("Rental days: %d\n", agreement.getRentalDays());
+        out.printf("Checkout date: %s\n", agreement.getCheckoutDate().format(dateFormatter));
+        out.printf("Due date: %s\n", agreement.getDueDate().format(dateFormatter));
+        out.printf("Daily rental charge: %s\n", decimalFormatter.format(agreement.getDailyRentalCharge()));
+        out.printf("Chargeable days: %d\n", agreement.getChargeableDays());
+        out.printf("Pre-discount charge: %s\n", decimalFormatter.format(agreement.getPreDiscountCharge()));
+        out.printf("Discount percent: %d%%\n", agreement.getDiscountPercent());
+        out.printf("Discount amount: %s\n", decimalFormatter.format(agreement.getDiscountAmount()));
+        out.printf("Final charge: %s\n", decimalFormatter.format(agreement.getFinalCharge()));
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void assertMatchesPrintf(Random random, int count) throws IOException {
+        String[] dailyCharges = {"0", "0.5", "1.49", "1.99", "2.99", "12.345", "999.99", "125000.00"};
+        for (int i = 0; i < count; i++) {
+            Tool tool = new Tool("T" + i, "Type \u00dc", "Brand", new BigDecimal(dailyCharges[random.nextInt(dailyCharges.length)]),
+                    random.nextBoolean(), random.nextBoolean(), random.nextBoolean());
+            RentalAgreement agreement = new RentalAgreement(tool, 1 + random.nextInt(5000),
+                    LocalDate.of(1995, 1, 1).plusDays(random.nextInt(20000)), random.nextInt(101));
+
+            StringBuilder text = new StringBuilder();
+            RentalAgreementRenderer.renderText(agreement, text);
+            String expected = printfReference(agreement);
+            assertEquals(expected, text.toString(), Locale.getDefault(Locale.Category.FORMAT).toLanguageTag());
+
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            RentalAgreementRenderer.renderText(agreement, buffer);
+            buffer.flip();
+            assertEquals(expected, StandardCharsets.UTF_8.decode(buffer).toString());
+        }
+    }
+
+    @Test
+    void renderText_shouldMatchPrintfOutput_forRandomAgreements() throws IOException {
+        assertMatchesPrintf(new Random(2024), 2000);
+    }
+
+    // Germany and France group and mark decimals differently and put the currency after the amount; Egyptian
+    // Arabic also uses its own digits. The renderer has to follow the default locale as it changes, like printf.
+    @Test
+    void renderText_shouldMatchPrintfOutput_whenDefaultLocaleChanges() throws IOException {
+        Locale defaultLocale = Locale.getDefault();
+        Locale formatLocale = Locale.getDefault(Locale.Category.FORMAT);
+        Random random = new Random(2025);
+        try {
+            for (Locale locale : new Locale[]{Locale.GERMANY, Locale.FRANCE, Locale.forLanguageTag("ar-EG"), Locale.US}) {
+                Locale.setDefault(locale);
+                assertMatchesPrintf(random, 300);
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+            Locale.setDefault(Locale.Category.FORMAT, formatLocale);
+        }
+    }
+
+    @Test
+    void renderJson_shouldWriteAllFields() throws IOException {
+        Tool tool = new Tool("LADW", "Ladder", "Werner \"Pro\"", new BigDecimal("1.99"), true, true, false);
+        RentalAgreement agreement = new RentalAgreement(tool, 3, LocalDate.of(2020, 7, 2), 10);
+
+        StringBuilder json = new StringBuilder();
+        RentalAgreementRenderer.renderJson(agreement, json);
+
+        assertEquals("{\"toolCode\":\"LADW\",\"toolType\":\"Ladder\",\"toolBrand\":\"Werner \\\"Pro\\\"\",\"rentalDays\":3,"
+                + "\"checkoutDate\":\"2020-07-02\",\"dueDate\":\"2020-07-05\",\"dailyRentalCharge\":1.99,\"chargeableDays\":2,"
+                + "\"preDiscountCharge\":3.98,\"discountPercent\":10,\"discountAmount\":0.40,\"finalCharge\":3.58}", json.toString());
+    }
+}
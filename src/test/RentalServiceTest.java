@@ -1,13 +1,20 @@
 package test;
 
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.calendar.HolidayRules;
+import main.java.catalog.ToolCatalog;
 import main.java.model.RentalAgreement;
 import main.java.service.RentalService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -155,4 +162,79 @@ public class RentalServiceTest {
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void checkout_shouldThrowException_WhenRegionIsUnknown() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            rentalService.checkout("JAKR", 5, 0, LocalDate.of(2015, 9, 3), "XX");
+        });
+        assertEquals("Invalid region.", exception.getMessage());
+    }
+
+    @Test
+    void checkout_shouldUseRegionalHolidays_whenRegionIsGiven() throws IOException {
+        HolidayCalendar canada = new HolidayCalendar(HolidayRules.parse(new StringReader(
+                "# Canada Day and Labour Day\n" +
+                "Canada Day: fixed 7 1 observed\n" +
+                "Labour Day: nth 1 MONDAY 9\n")));
+        RentalService regionalService = new RentalService(new HolidayRegions(Map.of("CA", canada)));
+
+        // July 1st 2020 is a Wednesday: a holiday in Canada, but July 3rd is not
+        RentalAgreement canadian = regionalService.checkout("JAKR", 4, 0, LocalDate.of(2020, 6, 30), "ca");
+        RentalAgreement american = regionalService.checkout("JAKR", 4, 0, LocalDate.of(2020, 6, 30), "US");
+
+        assertEquals(2, canadian.getChargeableDays(), "Canada Day should not be charged");
+        assertEquals(2, american.getChargeableDays(), "Observed Independence Day should not be charged");
+        assertEquals(1, regionalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 7, 2), "CA").getChargeableDays());
+    }
+
+    @Test
+    void checkout_shouldSkipLeapDayHoliday_inNonLeapYears() throws IOException {
+        HolidayCalendar leap = new HolidayCalendar(HolidayRules.parse(new StringReader("Leap Day: fixed 2 29\n")));
+        RentalService regionalService = new RentalService(new HolidayRegions(Map.of("LEAP", leap)));
+
+        // Feb 29th 2020 is a Saturday, so only a tool charged on weekends sees the difference
+        assertEquals(1, regionalService.checkout("LADW", 2, 0, LocalDate.of(2020, 2, 28), "LEAP").getChargeableDays());
+        assertEquals(2, regionalService.checkout("LADW", 2, 0, LocalDate.of(2021, 2, 27), "LEAP").getChargeableDays());
+        // All of 2021 and New Year 2022, neither of which has a Feb 29th
+        assertEquals(366, regionalService.checkout("LADW", 366, 0, LocalDate.of(2020, 12, 31), "LEAP").getChargeableDays());
+    }
+
+    @Test
+    void checkout_shouldSkipFifthWeekdayHoliday_inMonthsWithOnlyFour() throws IOException {
+        HolidayCalendar fifth = new HolidayCalendar(HolidayRules.parse(new StringReader(
+                "Fifth Monday: nth 5 MONDAY 5\n" +
+                "Fifth Last Friday: nth -5 FRIDAY 1\n")));
+        RentalService regionalService = new RentalService(new HolidayRegions(Map.of("FIFTH", fifth)));
+
+        // May 2020 has four Mondays, so June 1st is an ordinary day; May 2021 has five, the last on May 31st
+        assertEquals(1, regionalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 5, 31), "FIFTH").getChargeableDays());
+        assertEquals(0, regionalService.checkout("JAKR", 1, 0, LocalDate.of(2021, 5, 30), "FIFTH").getChargeableDays());
+        // January 2021 has five Fridays, the first on January 1st; January 2019 has four, so Dec 28th 2018 is ordinary
+        assertEquals(0, regionalService.checkout("JAKR", 1, 0, LocalDate.of(2020, 12, 31), "FIFTH").getChargeableDays());
+        assertEquals(1, regionalService.checkout("JAKR", 1, 0, LocalDate.of(2018, 12, 27), "FIFTH").getChargeableDays());
+    }
+
+    @Test
+    void parse_shouldRejectDateThatNeverOccurs() {
+        assertThrows(IllegalArgumentException.class, () -> HolidayRules.parse(new StringReader("Never: fixed 2 30\n")));
+    }
+
+    @Test
+    void checkout_shouldFindToolCodeCaseInsensitively() {
+        RentalAgreement agreement = rentalService.checkout("jakr", 1, 0, LocalDate.of(2015, 9, 3));
+        assertEquals("JAKR", agreement.getToolCode());
+    }
+
+    @Test
+    void checkout_shouldUseNewPrices_whenCatalogIsReplaced() throws IOException {
+        ToolCatalog catalog = rentalService.getToolCatalog();
+        catalog.replace(ToolCatalog.readTools(new StringReader(
+                "code,type,brand,dailyCharge,chargeWeekday,chargeWeekend,chargeHoliday\n" +
+                "JAKR,Jackhammer,Ridgid,3.49,true,false,false\n"), HolidayCalendar.getDefault()));
+
+        RentalAgreement agreement = rentalService.checkout("JAKR", 1, 0, LocalDate.of(2015, 9, 3));
+        assertEquals(new BigDecimal("3.49"), agreement.getDailyRentalCharge());
+        assertThrows(IllegalArgumentException.class, () -> rentalService.checkout("LADW", 1, 0, LocalDate.of(2015, 9, 3)));
+    }
+
+}
@@ -0,0 +1,165 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.calendar.HolidayRegions;
+import main.java.inventory.InventoryService;
+import main.java.journal.AgreementJournal;
+import main.java.metrics.CheckoutMetrics;
+import main.java.metrics.MetricsSnapshot;
+import main.java.service.RentalService;
+import main.java.service.ReservationService;
+import main.java.service.ReservedRental;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReservationServiceTest {
+    @TempDir
+    Path directory;
+
+    private InventoryService inventoryService;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryService();
+        inventoryService.setUnits("LADW", 2);
+        inventoryService.setUnits("JAKR", 1);
+        reservationService = new ReservationService(new RentalService(), inventoryService);
+    }
+
+    @Test
+    void checkout_shouldThrowException_whenNoUnitIsFree() {
+        reservationService.checkout("JAKR", 3, 0, LocalDate.of(2020, 7, 2));
+
+        Exception exception = assertThrows(IllegalStateException.class, () -> {
+            reservationService.checkout("jakr", 2, 0, LocalDate.of(2020, 7, 5));
+        });
+        assertEquals("Tool is not available for the requested dates.", exception.getMessage());
+        assertEquals(1, reservationService.available("JAKR", LocalDate.of(2020, 7, 6), 5));
+    }
+
+    @Test
+    void checkout_shouldNotJournalOrCountRentals_thatGetNoUnit() throws IOException {
+        CheckoutMetrics metrics = new CheckoutMetrics();
+        try (AgreementJournal journal = AgreementJournal.open(directory, 1024 * 1024)) {
+            ReservationService journaled = new ReservationService(new RentalService(RentalService.defaultCatalog(
+                    HolidayCalendar.getDefault()), HolidayRegions.getDefault(), null, journal, metrics), inventoryService);
+
+            journaled.checkout("JAKR", 3, 0, LocalDate.of(2020, 7, 2));
+            assertThrows(IllegalStateException.class, () -> journaled.checkout("JAKR", 2, 0, LocalDate.of(2020, 7, 5)));
+            assertThrows(IllegalArgumentException.class, () -> journaled.checkout("CHNS", 2, 0, LocalDate.of(2020, 7, 5)));
+        }
+
+        assertEquals(1, AgreementJournal.replay(directory, agreement -> { }));
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.getCheckoutsByTool().get("JAKR").longValue());
+        assertTrue(snapshot.getFailuresByReason().isEmpty());
+        assertEquals(1, snapshot.getCheckoutLatency().getCount());
+    }
+
+    @Test
+    void checkout_shouldReturnUnit_whenPricingFails() {
+        assertThrows(IllegalArgumentException.class, () -> reservationService.checkout("JAKR", 3, 101, LocalDate.of(2020, 7, 2)));
+
+        assertEquals(1, reservationService.available("JAKR", LocalDate.of(2020, 7, 2), 3));
+    }
+
+    @Test
+    void release_shouldMakeUnitAvailableAgain() {
+        ReservedRental rental = reservationService.checkout("JAKR", 3, 0, LocalDate.of(2020, 7, 2));
+        assertEquals(0, reservationService.available("JAKR", LocalDate.of(2020, 7, 1), 2));
+
+        assertTrue(reservationService.release(rental));
+
+        assertEquals(1, reservationService.available("JAKR", LocalDate.of(2020, 7, 1), 10));
+    }
+
+    @Test
+    void release_shouldNotFreeAnotherRentalsUnit_whenCalledTwice() {
+        ReservedRental first = reservationService.checkout("LADW", 3, 0, LocalDate.of(2020, 7, 2));
+        reservationService.checkout("LADW", 3, 0, LocalDate.of(2020, 7, 2));
+        assertTrue(reservationService.release(first));
+
+        assertFalse(reservationService.release(first));
+
+        assertEquals(1, reservationService.available("LADW", LocalDate.of(2020, 7, 2), 3));
+        reservationService.checkout("LADW", 3, 0, LocalDate.of(2020, 7, 2));
+        assertThrows(IllegalStateException.class, () -> reservationService.checkout("LADW", 3, 0, LocalDate.of(2020, 7, 2)));
+    }
+
+    @Test
+    void checkout_shouldNeverDoubleBook_underConcurrentCheckouts() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<LocalDate> reserved = new ArrayList<>();
+        try {
+            List<Future<ReservedRental>> attempts = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                LocalDate checkoutDate = LocalDate.of(2020, 7, 1).plusDays(i % 30);
+                attempts.add(executor.submit(() -> {
+                    try {
+                        return reservationService.checkout("LADW", 4, 0, checkoutDate);
+                    } catch (IllegalStateException e) {
+                        return null;
+                    }
+                }));
+            }
+            for (Future<ReservedRental> attempt : attempts) {
+                ReservedRental rental = attempt.get();
+                if (rental != null) {
+                    reserved.add(rental.getAgreement().getCheckoutDate());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertFalse(reserved.isEmpty());
+        for (LocalDate day = LocalDate.of(2020, 7, 1); day.isBefore(LocalDate.of(2020, 8, 5)); day = day.plusDays(1)) {
+            LocalDate current = day;
+            long unitsOut = reserved.stream()
+                    .filter(checkoutDate -> !current.isBefore(checkoutDate) && !current.isAfter(checkoutDate.plusDays(4)))
+                    .count();
+            assertTrue(unitsOut <= 2, unitsOut + " units out on " + day);
+        }
+    }
+
+    @Test
+    void checkout_shouldNotBlockOtherReservations_whileOverlappingAttemptFails() throws Exception {
+        // The one JAKR unit is out from Dec 1st; a long rental running into that date has to fail without ever
+        // holding the earlier days it overlaps with the short rentals below
+        reservationService.checkout("JAKR", 2, 0, LocalDate.of(2021, 12, 1));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> failures = executor.submit(() -> {
+                int failed = 0;
+                for (int i = 0; i < 2000; i++) {
+                    try {
+                        reservationService.checkout("JAKR", 400, 0, LocalDate.of(2020, 12, 1));
+                    } catch (IllegalStateException e) {
+                        failed++;
+                    }
+                }
+                return failed;
+            });
+            while (!failures.isDone()) {
+                assertEquals(1, reservationService.available("JAKR", LocalDate.of(2021, 6, 1), 3));
+                reservationService.release(reservationService.checkout("JAKR", 3, 0, LocalDate.of(2021, 6, 1)));
+            }
+            assertEquals(2000, failures.get().intValue());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package test;
+
+import main.java.model.RentalAgreement;
+import main.java.service.RentalService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeded random agreements over the default tools, shared by the tests that need a lot of varied agreements.
+final class SampleAgreements {
+    static final long SEED = 1024;
+
+    private static final String[] TOOL_CODES = {"CHNS", "LADW", "JAKD", "JAKR"};
+
+    private SampleAgreements() {
+    }
+
+    // A checkout of a random tool at a random discount, on one of the checkoutDays days starting at firstCheckoutDate.
+    static RentalAgreement next(RentalService rentalService, Random random, LocalDate firstCheckoutDate, int checkoutDays,
+                                int maxRentalDays) {
+        return rentalService.checkout(TOOL_CODES[random.nextInt(TOOL_CODES.length)], 1 + random.nextInt(maxRentalDays),
+                random.nextInt(101), firstCheckoutDate.plusDays(random.nextInt(checkoutDays)));
+    }
+
+    static List<RentalAgreement> list(int count, LocalDate firstCheckoutDate, int checkoutDays, int maxRentalDays) {
+        RentalService rentalService = new RentalService();
+        Random random = new Random(SEED);
+        List<RentalAgreement> agreements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            agreements.add(next(rentalService, random, firstCheckoutDate, checkoutDays, maxRentalDays));
+        }
+        return agreements;
+    }
+}
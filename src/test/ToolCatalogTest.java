@@ -0,0 +1,69 @@
+package test;
+
+import main.java.calendar.HolidayCalendar;
+import main.java.catalog.ToolCatalog;
+import main.java.model.Tool;
+import main.java.service.RentalService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ToolCatalogTest {
+    private static final String HEADER = "code,type,brand,dailyCharge,chargeWeekday,chargeWeekend,chargeHoliday";
+
+    @TempDir
+    Path directory;
+
+    private static String describe(Tool tool) {
+        return tool.getCode() + "," + tool.getType() + "," + tool.getBrand() + "," + tool.getDailyCharge() + ","
+                + tool.isChargeWeekday() + "," + tool.isChargeWeekend() + "," + tool.isChargeHoliday();
+    }
+
+    @Test
+    void load_shouldReadShippedToolsFile_matchingDefaultCatalog() throws IOException {
+        ToolCatalog shipped = ToolCatalog.load(Path.of("config", "tools.csv"), HolidayCalendar.getDefault());
+        ToolCatalog builtIn = RentalService.defaultCatalog(HolidayCalendar.getDefault());
+
+        assertEquals(builtIn.getSnapshot().size(), shipped.getSnapshot().size());
+        for (Tool tool : builtIn.getSnapshot().getTools()) {
+            Tool loaded = shipped.find(tool.getCode());
+            assertNotNull(loaded, tool.getCode());
+            assertEquals(describe(tool), describe(loaded));
+        }
+    }
+
+    @Test
+    void reload_shouldSwapInToolsFromFile() throws IOException {
+        Path file = directory.resolve("tools.csv");
+        Files.write(file, List.of(HEADER, "JAKR,Jackhammer,Ridgid,2.99,true,false,false"), StandardCharsets.UTF_8);
+        ToolCatalog catalog = ToolCatalog.load(file, HolidayCalendar.getDefault());
+
+        Files.write(file, List.of(HEADER, "# price change", "JAKR,Jackhammer,Ridgid,3.49,yes,no,no",
+                "WETV,Wet Vac,Shop-Vac,4.25,true,true,true"), StandardCharsets.UTF_8);
+        catalog.reload(file);
+
+        assertEquals(new BigDecimal("3.49"), catalog.find("jakr").getDailyCharge());
+        assertEquals("Shop-Vac", catalog.find("WETV").getBrand());
+        assertEquals(2, catalog.getSnapshot().size());
+    }
+
+    @Test
+    void reload_shouldKeepCurrentTools_WhenFileIsInvalid() throws IOException {
+        Path file = directory.resolve("tools.csv");
+        Files.write(file, List.of(HEADER, "JAKR,Jackhammer,Ridgid,2.99,true,false,false"), StandardCharsets.UTF_8);
+        ToolCatalog catalog = ToolCatalog.load(file, HolidayCalendar.getDefault());
+
+        Files.write(file, List.of(HEADER, "JAKR,Jackhammer,Ridgid,not-a-price,true,false,false"), StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> catalog.reload(file));
+
+        assertEquals(new BigDecimal("2.99"), catalog.find("JAKR").getDailyCharge());
+    }
+}